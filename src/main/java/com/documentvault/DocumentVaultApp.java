@@ -6,6 +6,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import com.documentvault.service.LibraryServiceImpl;
 import com.documentvault.service.StorageService;
 import com.documentvault.util.AlertUtil;
 import com.documentvault.util.BrandConstants;
@@ -27,6 +28,9 @@ public class DocumentVaultApp extends Application {
             // Initialize storage service for DocumentVault security
             StorageService.getInstance();
 
+            // Load the library in the background so the window opens right away
+            LibraryServiceImpl.loadInBackground();
+
             // Load the main view
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainView.fxml"));
             Parent root = loader.load();
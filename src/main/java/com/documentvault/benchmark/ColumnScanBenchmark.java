@@ -0,0 +1,111 @@
+package com.documentvault.benchmark;
+
+import com.documentvault.index.ColumnStore;
+import com.documentvault.index.LibraryIndex;
+import com.documentvault.model.DateField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.MediaLink;
+import com.documentvault.model.Note;
+import com.documentvault.model.NumericField;
+import com.documentvault.model.PdfDocument;
+import com.documentvault.model.Timestamps;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares library statistics computed over the {@link ColumnStore} and
+ * the type posting lists with the same statistics computed by streaming
+ * the item objects, as {@code getPerformanceStats} did before.
+ *
+ * Each round counts items per type, sums page counts and counts items
+ * added in the last week. Runs headless:
+ * {@code ColumnScanBenchmark [items] [rounds]}.
+ */
+public class ColumnScanBenchmark {
+
+    private static final int DEFAULT_ITEMS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        LibraryIndex index = new LibraryIndex();
+        for (int i = 0; i < itemCount; i++) {
+            LibraryItem item = switch (random.nextInt(3)) {
+                case 0 -> {
+                    PdfDocument pdf = new PdfDocument();
+                    pdf.setPageCount(random.nextInt(500));
+                    yield pdf;
+                }
+                case 1 -> {
+                    MediaLink media = new MediaLink();
+                    media.setDurationMinutes(random.nextInt(120));
+                    yield media;
+                }
+                default -> new Note();
+            };
+            item.setDateAdded(now.minusHours(random.nextInt(24 * 60)));
+            index.index(item);
+        }
+        LibraryItem[] items = index.materialize(index.all()).toArray(LibraryItem[]::new);
+        LocalDateTime weekAgo = now.minusWeeks(1);
+        long weekAgoEncoded = Timestamps.encode(weekAgo);
+
+        System.out.println("=".repeat(60));
+        System.out.println("DocumentVault Column Scan Benchmark");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("Items:             %,d", itemCount));
+
+        long bestObjects = Long.MAX_VALUE;
+        long bestColumns = Long.MAX_VALUE;
+        long checksum = 0;
+        // The first round warms up the JIT and is not counted
+        for (int round = 0; round <= rounds; round++) {
+            long start = System.nanoTime();
+            Map<Class<?>, Long> typeCounts = Arrays.stream(items)
+                    .collect(Collectors.groupingBy(Object::getClass, Collectors.counting()));
+            long pages = 0;
+            int recent = 0;
+            for (LibraryItem item : items) {
+                if (item instanceof PdfDocument pdf) {
+                    pages += pdf.getPageCount();
+                }
+                if (!item.getDateAdded().isBefore(weekAgo)) {
+                    recent++;
+                }
+            }
+            long objects = System.nanoTime() - start;
+            checksum += typeCounts.size() + pages + recent;
+
+            start = System.nanoTime();
+            ColumnStore columns = index.columns();
+            Map<LibraryItem.ItemType, Integer> columnCounts = new EnumMap<>(LibraryItem.ItemType.class);
+            for (LibraryItem.ItemType type : LibraryItem.ItemType.values()) {
+                columnCounts.put(type, index.type(type).cardinality());
+            }
+            long columnPages = columns.sum(NumericField.PAGE_COUNT);
+            int columnRecent = columns.countBetween(DateField.CREATED, weekAgoEncoded, Long.MAX_VALUE);
+            long scans = System.nanoTime() - start;
+            checksum += columnCounts.size() + columnPages + columnRecent;
+
+            if (round > 0) {
+                bestObjects = Math.min(bestObjects, objects);
+                bestColumns = Math.min(bestColumns, scans);
+            }
+        }
+
+        System.out.println(String.format("Item objects:      %,.2f ms", bestObjects / 1e6));
+        System.out.println(String.format("Column scans:      %,.2f ms", bestColumns / 1e6));
+        System.out.println(String.format("Speedup:           %.1fx", bestObjects / (double) bestColumns));
+        System.out.println(String.format("Checksum:          %d", checksum));
+        System.out.println("=".repeat(60));
+    }
+}
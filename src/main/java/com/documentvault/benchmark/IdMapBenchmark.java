@@ -0,0 +1,93 @@
+package com.documentvault.benchmark;
+
+import com.documentvault.index.IdOrdinalMap;
+import com.documentvault.model.ItemId;
+import com.documentvault.util.IdGenerator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares id-to-ordinal lookups in {@link IdOrdinalMap} with the
+ * {@code HashMap} keyed by id strings that the library used before.
+ *
+ * Both maps are filled with the same time-ordered ids and then probed in
+ * random order, the access pattern of {@code getItemById} from the UI. The
+ * string map is probed with the id strings it was built from, so its
+ * numbers do not include parsing. Runs headless:
+ * {@code IdMapBenchmark [items] [rounds]}.
+ */
+public class IdMapBenchmark {
+
+    private static final int DEFAULT_ITEMS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        ItemId[] ids = new ItemId[itemCount];
+        String[] texts = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            ids[i] = ItemId.of(IdGenerator.timeOrdered());
+            texts[i] = ids[i].toString();
+        }
+        int[] probes = new Random(42).ints(itemCount, 0, itemCount).toArray();
+
+        System.out.println("=".repeat(60));
+        System.out.println("DocumentVault Id Map Benchmark");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("Items:             %,d", itemCount));
+
+        long bestHashPut = Long.MAX_VALUE;
+        long bestHashGet = Long.MAX_VALUE;
+        long bestOpenPut = Long.MAX_VALUE;
+        long bestOpenGet = Long.MAX_VALUE;
+        long checksum = 0;
+        // The first round warms up the JIT and is not counted
+        for (int round = 0; round <= rounds; round++) {
+            long start = System.nanoTime();
+            Map<String, Integer> hashMap = new HashMap<>();
+            for (int i = 0; i < itemCount; i++) {
+                hashMap.put(texts[i], i);
+            }
+            long hashPut = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int probe : probes) {
+                checksum += hashMap.get(texts[probe]);
+            }
+            long hashGet = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            IdOrdinalMap openMap = new IdOrdinalMap();
+            for (int i = 0; i < itemCount; i++) {
+                openMap.put(ids[i], i);
+            }
+            long openPut = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int probe : probes) {
+                checksum += openMap.get(ids[probe]);
+            }
+            long openGet = System.nanoTime() - start;
+
+            if (round > 0) {
+                bestHashPut = Math.min(bestHashPut, hashPut);
+                bestHashGet = Math.min(bestHashGet, hashGet);
+                bestOpenPut = Math.min(bestOpenPut, openPut);
+                bestOpenGet = Math.min(bestOpenGet, openGet);
+            }
+        }
+
+        System.out.println(String.format("%n%-24s %12s %12s", "", "put ns/op", "get ns/op"));
+        System.out.println(String.format("%-24s %12.1f %12.1f", "HashMap<String, Integer>",
+                bestHashPut / (double) itemCount, bestHashGet / (double) itemCount));
+        System.out.println(String.format("%-24s %12.1f %12.1f", "IdOrdinalMap",
+                bestOpenPut / (double) itemCount, bestOpenGet / (double) itemCount));
+        System.out.println(String.format("%nLookup speedup:    %.2fx", bestHashGet / (double) bestOpenGet));
+        System.out.println(String.format("Checksum:          %d", checksum));
+        System.out.println("=".repeat(60));
+    }
+}
@@ -0,0 +1,119 @@
+package com.documentvault.benchmark;
+
+import com.documentvault.index.LibraryIndex;
+import com.documentvault.model.Category;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.Note;
+
+import java.lang.ref.Reference;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Measures the heap taken per library item by the compact item layout and
+ * by the layout it replaced, and then what the service's
+ * {@link LibraryIndex} adds on top of the items once they are indexed.
+ *
+ * The previous layout is reproduced as it stood after loading from JSON: a
+ * UUID string id, two {@link LocalDateTime} objects, a {@code HashSet} of
+ * freshly deserialized tag strings and a private copy of the category.
+ * Both populations hold the same empty note with two tags, so the numbers
+ * show per-item overhead rather than content; titles are numbered so the
+ * title index holds distinct keys. Runs headless:
+ * {@code MemoryBenchmark [items]}; give the JVM about 2 GB for the default
+ * million items.
+ */
+public class MemoryBenchmark {
+
+    private static final int DEFAULT_ITEMS = 1_000_000;
+
+    /**
+     * The fields a note carried before the compact layout.
+     */
+    @SuppressWarnings("unused")
+    private static final class PreviousNote {
+        private final String id = UUID.randomUUID().toString();
+        private String title;
+        private String description;
+        private Category category;
+        private Set<String> tags = new HashSet<>();
+        private LocalDateTime dateAdded = LocalDateTime.now();
+        private LocalDateTime lastModified = LocalDateTime.now();
+        private LibraryItem.ItemType itemType = LibraryItem.ItemType.NOTE;
+        private String content = "";
+        private boolean isMarkdown;
+    }
+
+    public static void main(String[] args) {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+        Category category = new Category("Programming");
+
+        System.out.println("=".repeat(60));
+        System.out.println("DocumentVault Item Memory Benchmark");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("Items:             %,d", itemCount));
+
+        Object[] previous = new Object[itemCount];
+        long before = usedAfterGc();
+        for (int i = 0; i < itemCount; i++) {
+            PreviousNote note = new PreviousNote();
+            // Deserialization gives every item its own strings and category
+            note.tags.add(new String("java"));
+            note.tags.add(new String("study"));
+            note.category = new Category(category.getName());
+            note.title = "Note " + i;
+            previous[i] = note;
+        }
+        double previousBytes = (usedAfterGc() - before) / (double) itemCount;
+        Reference.reachabilityFence(previous);
+        previous = null;
+
+        Object[] compact = new Object[itemCount];
+        before = usedAfterGc();
+        for (int i = 0; i < itemCount; i++) {
+            Note note = new Note();
+            note.addTag("java");
+            note.addTag("study");
+            note.setCategory(category);
+            note.setTitle("Note " + i);
+            compact[i] = note;
+        }
+        double compactBytes = (usedAfterGc() - before) / (double) itemCount;
+
+        LibraryIndex index = new LibraryIndex();
+        before = usedAfterGc();
+        for (Object note : compact) {
+            index.index((LibraryItem) note);
+        }
+        index.compact();
+        double indexBytes = (usedAfterGc() - before) / (double) itemCount;
+        Reference.reachabilityFence(index);
+        Reference.reachabilityFence(compact);
+
+        System.out.println(String.format("Previous layout:   %,.1f bytes/item", previousBytes));
+        System.out.println(String.format("Compact layout:    %,.1f bytes/item", compactBytes));
+        System.out.println(String.format("Saved:             %,.1f bytes/item (%.0f%%)",
+                previousBytes - compactBytes, 100 * (previousBytes - compactBytes) / previousBytes));
+        System.out.println(String.format("At %,d items:   %,.1f MB less heap", itemCount,
+                (previousBytes - compactBytes) * itemCount / (1024 * 1024)));
+        System.out.println(String.format("Index:             %,.1f bytes/item", indexBytes));
+        System.out.println(String.format("Indexed library:   %,.1f bytes/item, %,.1f MB at %,d items",
+                compactBytes + indexBytes, (compactBytes + indexBytes) * itemCount / (1024 * 1024), itemCount));
+        System.out.println("=".repeat(60));
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
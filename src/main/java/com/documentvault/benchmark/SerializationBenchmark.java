@@ -0,0 +1,127 @@
+package com.documentvault.benchmark;
+
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.MediaLink;
+import com.documentvault.model.Note;
+import com.documentvault.model.PdfDocument;
+import com.documentvault.model.TextSnippet;
+import com.documentvault.service.StorageService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how library saves and loads scale with the number of cores.
+ *
+ * Saves and loads a generated library on fork/join pools of increasing
+ * parallelism and reports the best time of several rounds for each, along
+ * with the speedup over a single thread. Every item is changed before each
+ * save so the whole library is serialized, not served from the cache.
+ * Runs headless: {@code SerializationBenchmark [items] [rounds]}.
+ */
+public class SerializationBenchmark {
+
+    private static final int DEFAULT_ITEMS = 100_000;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        System.setProperty("user.home", Files.createTempDirectory("vault-bench").toString());
+        StorageService storage = StorageService.getInstance();
+        List<LibraryItem> items = generate(itemCount);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=".repeat(60));
+        System.out.println("DocumentVault Serialization Benchmark");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("Items:             %,d", itemCount));
+        System.out.println(String.format("Cores:             %d", cores));
+
+        System.out.println("\nWarming up JVM...");
+        measure(storage, items, cores, 2);
+
+        System.out.println(String.format("%n%-8s %12s %9s %12s %9s", "Threads", "Save ms", "Speedup", "Load ms", "Speedup"));
+        double[] baseline = null;
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            double[] times = measure(storage, items, threads, rounds);
+            if (baseline == null) {
+                baseline = times;
+            }
+            System.out.println(String.format("%-8d %12.1f %8.2fx %12.1f %8.2fx", threads,
+                    times[0], baseline[0] / times[0], times[1], baseline[1] / times[1]));
+            if (threads == cores) {
+                break;
+            }
+        }
+        System.out.println("=".repeat(60));
+    }
+
+    /**
+     * Returns the best save and load times, in milliseconds, on a pool with
+     * the given parallelism.
+     */
+    private static double[] measure(StorageService storage, List<LibraryItem> items, int threads, int rounds) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long bestSave = Long.MAX_VALUE;
+            long bestLoad = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                for (LibraryItem item : items) {
+                    item.setDescription("Round " + round);
+                }
+                long start = System.nanoTime();
+                pool.submit(() -> storage.saveItems(items)).join();
+                bestSave = Math.min(bestSave, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                int loaded = pool.submit(() -> storage.loadItems().size()).join();
+                bestLoad = Math.min(bestLoad, System.nanoTime() - start);
+                if (loaded != items.size()) {
+                    System.err.println("Unexpected item count: " + loaded);
+                }
+            }
+            return new double[]{bestSave / 1_000_000.0, bestLoad / 1_000_000.0};
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<LibraryItem> generate(int count) {
+        List<LibraryItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LibraryItem item = switch (i % 4) {
+                case 0 -> {
+                    Note note = new Note();
+                    note.setContent("Lecture notes " + i + "\n".repeat(3) + "body ".repeat(40));
+                    yield note;
+                }
+                case 1 -> {
+                    PdfDocument pdf = new PdfDocument();
+                    pdf.setFilePath("/library/papers/paper-" + i + ".pdf");
+                    pdf.setPageCount(i % 300);
+                    yield pdf;
+                }
+                case 2 -> {
+                    MediaLink media = new MediaLink();
+                    media.setUrl("https://example.com/talks/" + i);
+                    media.setDurationMinutes(i % 120);
+                    yield media;
+                }
+                default -> {
+                    TextSnippet snippet = new TextSnippet();
+                    snippet.setContent("for (int i = 0; i < " + i + "; i++) {\n    sum += i;\n}");
+                    snippet.setLanguage("java");
+                    yield snippet;
+                }
+            };
+            item.setTitle("Item " + i);
+            item.addTag("tag" + (i % 50));
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,132 @@
+package com.documentvault.benchmark;
+
+import com.documentvault.model.FoldedText;
+import com.documentvault.model.Note;
+import com.documentvault.util.SubstringKernel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the ways a brute-force text query can scan every note.
+ *
+ * The notes are generated from a fixed vocabulary with sentence casing,
+ * one to four kilobytes each, and the queries mix words that occur in a
+ * few notes with words that occur in none, so most scans run to the end
+ * of the text. Rows are: lower-casing the searchable text on every query,
+ * as before; {@code String.contains} on text folded once, which is what
+ * {@link FoldedText} does by default; and the vector kernel on the Latin-1
+ * bytes that it keeps when the kernel is available.
+ *
+ * Runs headless: {@code SubstringScanBenchmark [notes] [rounds]}. The
+ * vector row needs a build with the {@code vector} profile and
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public class SubstringScanBenchmark {
+
+    private static final int DEFAULT_NOTES = 5_000;
+    private static final int DEFAULT_ROUNDS = 10;
+    private static final String[] WORDS = {
+            "the", "library", "notes", "about", "java", "records", "pattern", "matching", "and",
+            "sealed", "interfaces", "with", "examples", "from", "meeting", "project", "plan",
+            "review", "design", "of", "index", "search", "query", "performance", "memory",
+            "thread", "virtual", "stream", "collection", "map", "list", "reading", "chapter"
+    };
+    private static final String[] QUERIES = {"kotlin", "virtual thread", "zebra", "q3 roadmap", "x"};
+
+    public static void main(String[] args) {
+        int noteCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NOTES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        Random random = new Random(42);
+        List<Note> notes = new ArrayList<>(noteCount);
+        long totalChars = 0;
+        for (int i = 0; i < noteCount; i++) {
+            Note note = new Note();
+            note.setTitle("Note " + i);
+            note.setContent(body(random, 1024 + random.nextInt(3072)));
+            notes.add(note);
+            totalChars += note.getSearchableText().length();
+        }
+        String[] folded = new String[noteCount];
+        byte[][] latin1 = new byte[noteCount][];
+        for (int i = 0; i < noteCount; i++) {
+            folded[i] = notes.get(i).getSearchableText().toLowerCase();
+            latin1[i] = folded[i].getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        System.out.println("=".repeat(60));
+        System.out.println("DocumentVault Substring Scan Benchmark");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("Notes:             %,d", noteCount));
+        System.out.println(String.format("Text:              %,.1f MB", totalChars / (1024.0 * 1024)));
+        System.out.println(String.format("Queries:           %d per round", QUERIES.length));
+
+        long checksum = 0;
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        SubstringKernel vector = SubstringKernel.vectorized().orElse(null);
+        // The first round warms up the JIT and is not counted
+        for (int round = 0; round <= rounds; round++) {
+            long[] times = new long[best.length];
+            for (String query : QUERIES) {
+                long start = System.nanoTime();
+                for (Note note : notes) {
+                    checksum += note.getSearchableText().toLowerCase().contains(query) ? 1 : 0;
+                }
+                times[0] += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (String text : folded) {
+                    checksum += text.contains(query) ? 1 : 0;
+                }
+                times[1] += System.nanoTime() - start;
+
+                if (vector != null) {
+                    start = System.nanoTime();
+                    for (byte[] text : latin1) {
+                        checksum += vector.indexOf(text, query) >= 0 ? 1 : 0;
+                    }
+                    times[2] += System.nanoTime() - start;
+                }
+            }
+            if (round > 0) {
+                for (int i = 0; i < best.length; i++) {
+                    best[i] = Math.min(best[i], times[i]);
+                }
+            }
+        }
+
+        double megabytes = QUERIES.length * totalChars / (1024.0 * 1024);
+        System.out.println(String.format("%n%-28s %10s %10s", "", "ms/round", "MB/s"));
+        printRow("Fold per query + contains", best[0], megabytes);
+        printRow("String.contains, folded", best[1], megabytes);
+        if (vector != null) {
+            printRow("Vector kernel, Latin-1", best[2], megabytes);
+            System.out.println(String.format("%nVector vs contains: %.2fx", best[1] / (double) best[2]));
+            System.out.println(String.format("Vector vs before:   %.2fx", best[0] / (double) best[2]));
+        } else {
+            System.out.println("Vector kernel:     unavailable, build with -Pvector and run with"
+                    + " --add-modules jdk.incubator.vector");
+        }
+        System.out.println(String.format("Checksum:          %d", checksum));
+        System.out.println("=".repeat(60));
+    }
+
+    private static void printRow(String label, long nanos, double megabytes) {
+        System.out.println(String.format("%-28s %10.2f %10.0f", label, nanos / 1e6, megabytes / (nanos / 1e9)));
+    }
+
+    private static String body(Random random, int length) {
+        StringBuilder body = new StringBuilder(length + 16);
+        boolean sentenceStart = true;
+        while (body.length() < length) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            body.append(sentenceStart ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            sentenceStart = random.nextInt(12) == 0;
+            body.append(sentenceStart ? ". " : " ");
+        }
+        return body.toString();
+    }
+}
@@ -4,6 +4,7 @@ import com.documentvault.model.*;
 import com.documentvault.util.AlertUtil;
 import com.documentvault.util.DateUtil;
 import com.documentvault.util.FileUtil;
+import com.documentvault.viewmodel.BackgroundSearchScheduler;
 import com.documentvault.viewmodel.LibraryViewModel;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -22,6 +23,7 @@ import javafx.util.Callback;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -71,14 +73,21 @@ public class MainController {
 
     private LibraryViewModel viewModel;
 
+    private static final Duration SEARCH_DEBOUNCE = Duration.ofMillis(150);
+
     @FXML
     public void initialize() {
-        viewModel = new LibraryViewModel();
+        viewModel = new LibraryViewModel(new BackgroundSearchScheduler(SEARCH_DEBOUNCE));
         setupTableColumns();
+        setupSorting();
         setupBindings();
         setupFilters();
         setupTableInteractions();
-        updateStatusBar();
+        if (viewModel.isLoading()) {
+            statusLabel.setText("Loading library...");
+        } else {
+            updateStatusBar();
+        }
     }
 
     /**
@@ -105,7 +114,8 @@ public class MainController {
             @Override
             protected void updateItem(LocalDateTime item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty ? null : DateUtil.formatDateTime(item));
+                LibraryItem row = empty ? null : getTableRow().getItem();
+                setText(row == null ? null : row.getDisplay().dateAdded());
             }
         });
 
@@ -123,6 +133,30 @@ public class MainController {
         setupActionsColumn();
     }
 
+    /**
+     * Routes column header sorts to the service's sorted indexes instead of
+     * sorting the table's items, which are only materialized on demand.
+     * Without a sort column the table falls back to newest first.
+     */
+    private void setupSorting() {
+        itemsTableView.setSortPolicy(table -> {
+            if (table.getSortOrder().isEmpty()) {
+                viewModel.setSort(SortField.MODIFIED, true);
+                return true;
+            }
+            TableColumn<LibraryItem, ?> column = table.getSortOrder().get(0);
+            boolean descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+            if (column == titleColumn) {
+                viewModel.setSort(SortField.TITLE, descending);
+            } else if (column == dateAddedColumn) {
+                viewModel.setSort(SortField.CREATED, descending);
+            } else if (column == lastModifiedColumn) {
+                viewModel.setSort(SortField.MODIFIED, descending);
+            }
+            return true;
+        });
+    }
+
     /**
      * Sets up the actions column with buttons for each row.
      */
@@ -173,6 +207,18 @@ public class MainController {
     private void setupBindings() {
         itemsTableView.setItems(viewModel.getItems());
         searchField.textProperty().bindBidirectional(viewModel.searchQueryProperty());
+        viewModel.lastSearchMillisProperty().addListener((obs, oldVal, newVal) -> statusLabel.setText(
+                String.format("%d results in %.1f ms", viewModel.getItems().size(), newVal.doubleValue())));
+        viewModel.loadedItemCountProperty().addListener((obs, oldVal, newVal) -> {
+            if (viewModel.isLoading()) {
+                statusLabel.setText(String.format("Loading library... %,d items", newVal.intValue()));
+            }
+        });
+        viewModel.loadingProperty().addListener((obs, wasLoading, isLoading) -> {
+            if (!isLoading) {
+                updateStatusBar();
+            }
+        });
     }
 
     /**
@@ -298,7 +344,11 @@ public class MainController {
     private void updateStatusBar() {
         int totalItems = viewModel.getTotalItemCount();
         itemCountLabel.setText(totalItems + " item" + (totalItems != 1 ? "s" : ""));
-        statusLabel.setText("Last saved: " + DateUtil.formatTime(LocalDateTime.now()));
+        if (viewModel.isSavingDisabled()) {
+            statusLabel.setText("Library failed to load; changes are not being saved");
+        } else {
+            statusLabel.setText("Last saved: " + DateUtil.formatTime(LocalDateTime.now()));
+        }
     }
 
     // Menu action handlers
@@ -377,6 +427,7 @@ public class MainController {
 
     @FXML
     private void handleExit() {
+        viewModel.shutdown();
         Stage stage = (Stage) itemsTableView.getScene().getWindow();
         stage.close();
     }
@@ -0,0 +1,158 @@
+package com.documentvault.index;
+
+import com.documentvault.model.DateField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.NumericField;
+import com.documentvault.model.Timestamps;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays copy of the item fields that statistics and scans read.
+ * Slot {@code i} of every column belongs to the item at ordinal {@code i},
+ * so summing or range-checking one field walks a single primitive array
+ * front to back instead of dereferencing every item, which keeps the loops
+ * simple enough for the JIT to unroll and vectorize. Per-type counts need
+ * no column; the type posting lists already know their cardinality.
+ *
+ * Timestamps use the {@link Timestamps} encoding and numeric fields hold
+ * {@link #NO_VALUE} on items that do not carry them. Vacated slots hold
+ * {@link #NO_VALUE} throughout, so every scan skips them without consulting
+ * a separate liveness bitmap. Maintained by {@link LibraryIndex}, which
+ * also reads an item's previous values back from here to unpost them.
+ */
+public final class ColumnStore {
+
+    /**
+     * Timestamp and numeric column value for a missing value. Equal to
+     * {@link Timestamps#NONE}, and below every real value.
+     */
+    public static final long NO_VALUE = Timestamps.NONE;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final NumericField[] NUMERIC_FIELDS = NumericField.values();
+
+    private long[] dateAdded = new long[0];
+    private long[] lastModified = new long[0];
+    private final long[][] numbers = new long[NUMERIC_FIELDS.length][0];
+    // One past the highest slot ever written; scans stop here
+    private int length;
+
+    /**
+     * Writes an item's fields into the slot for its ordinal.
+     */
+    void set(int ordinal, LibraryItem item) {
+        ensureCapacity(ordinal + 1);
+        dateAdded[ordinal] = item.getDateAddedTimestamp();
+        lastModified[ordinal] = item.getLastModifiedTimestamp();
+        for (NumericField field : NUMERIC_FIELDS) {
+            numbers[field.ordinal()][ordinal] = field.valueOf(item).orElse(NO_VALUE);
+        }
+        length = Math.max(length, ordinal + 1);
+    }
+
+    /**
+     * Marks a slot as vacated.
+     */
+    void clear(int ordinal) {
+        if (ordinal >= length) {
+            return;
+        }
+        dateAdded[ordinal] = NO_VALUE;
+        lastModified[ordinal] = NO_VALUE;
+        for (long[] column : numbers) {
+            column[ordinal] = NO_VALUE;
+        }
+    }
+
+    /**
+     * Drops every slot.
+     */
+    void clear() {
+        dateAdded = new long[0];
+        lastModified = new long[0];
+        Arrays.fill(numbers, new long[0]);
+        length = 0;
+    }
+
+    /**
+     * Returns the number of slots, live or vacated, that scans cover.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a slot's encoded timestamp, or {@link #NO_VALUE} for an item
+     * without it and for a slot never written.
+     */
+    long time(DateField field, int ordinal) {
+        return ordinal < length ? column(field)[ordinal] : NO_VALUE;
+    }
+
+    /**
+     * Returns a slot's value of a numeric field, or {@link #NO_VALUE} for an
+     * item without it and for a slot never written.
+     */
+    long number(NumericField field, int ordinal) {
+        return ordinal < length ? numbers[field.ordinal()][ordinal] : NO_VALUE;
+    }
+
+    /**
+     * Sums a numeric field over the items that carry it.
+     */
+    public long sum(NumericField field) {
+        long[] column = numbers[field.ordinal()];
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            long value = column[i];
+            if (value != NO_VALUE) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Counts items whose encoded timestamp lies in {@code [from, to]}.
+     * Items without the timestamp are never counted.
+     */
+    public int countBetween(DateField field, long from, long to) {
+        long[] column = column(field);
+        // Missing values are NO_VALUE, the smallest long, so raising the
+        // lower bound above it excludes them without a separate check
+        long lower = Math.max(from, NO_VALUE + 1);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long value = column[i];
+            count += value >= lower && value <= to ? 1 : 0;
+        }
+        return count;
+    }
+
+    private long[] column(DateField field) {
+        return field == DateField.CREATED ? dateAdded : lastModified;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= dateAdded.length) {
+            return;
+        }
+        int capacity = Math.max(MIN_CAPACITY, dateAdded.length);
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        int previous = dateAdded.length;
+        dateAdded = Arrays.copyOf(dateAdded, capacity);
+        lastModified = Arrays.copyOf(lastModified, capacity);
+        for (int f = 0; f < numbers.length; f++) {
+            numbers[f] = Arrays.copyOf(numbers[f], capacity);
+        }
+        // New slots start vacated
+        Arrays.fill(dateAdded, previous, capacity, NO_VALUE);
+        Arrays.fill(lastModified, previous, capacity, NO_VALUE);
+        for (long[] column : numbers) {
+            Arrays.fill(column, previous, capacity, NO_VALUE);
+        }
+    }
+}
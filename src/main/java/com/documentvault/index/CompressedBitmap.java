@@ -0,0 +1,895 @@
+package com.documentvault.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed bitmap of non-negative ints, in the style of Roaring bitmaps.
+ *
+ * The value space is split into chunks of 65536 by the high 16 bits. Each
+ * non-empty chunk stores its low 16 bits in whichever container is smallest:
+ * <ul>
+ *   <li>an <b>array</b> of sorted values while it holds at most 4096 of them,</li>
+ *   <li>a <b>bitmap</b> of 1024 longs once it holds more, and</li>
+ *   <li>a list of <b>runs</b> after {@link #runOptimize()} if the values are
+ *       mostly contiguous.</li>
+ * </ul>
+ * Sparse posting lists therefore cost two bytes per entry, dense ones one
+ * bit, and contiguous ones a few bytes in total. AND, OR and ANDNOT work
+ * chunk by chunk; between two bitmap containers they are straight loops
+ * over long words.
+ *
+ * Not thread-safe. Mutating operations only ever modify containers owned by
+ * this bitmap, so the argument of {@link #and}, {@link #or} and
+ * {@link #andNot} is never modified or aliased.
+ */
+public final class CompressedBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int CHUNK = 1 << 16;
+    private static final int WORDS = CHUNK / 64;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public CompressedBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private CompressedBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Creates a bitmap holding the given values.
+     */
+    public static CompressedBitmap of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : sorted) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    // Single values
+
+    public void add(int value) {
+        char high = highBits(value);
+        int i = indexOf(high);
+        if (i >= 0) {
+            containers[i] = containers[i].add(lowBits(value));
+        } else {
+            insertContainer(-i - 1, high, new ArrayContainer().add(lowBits(value)));
+        }
+    }
+
+    public void remove(int value) {
+        int i = indexOf(highBits(value));
+        if (i >= 0) {
+            Container container = containers[i].remove(lowBits(value));
+            if (container.cardinality() == 0) {
+                removeContainer(i);
+            } else {
+                containers[i] = container;
+            }
+        }
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf(highBits(value));
+        return i >= 0 && containers[i].contains(lowBits(value));
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        replace(new char[0], new Container[0], 0);
+    }
+
+    // Whole-set queries
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the smallest value {@code >= from}, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        int i = indexOf(highBits(from));
+        int start = lowBits(from);
+        if (i < 0) {
+            i = -i - 1;
+            start = 0;
+        }
+        for (; i < size; i++, start = 0) {
+            int low = containers[i].next(start);
+            if (low >= 0) {
+                return keys[i] << 16 | low;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the smallest non-negative value {@code >= from} that is not in
+     * the bitmap.
+     */
+    public int nextClearBit(int from) {
+        int candidate = from;
+        int i = indexOf(highBits(candidate));
+        if (i < 0) {
+            return candidate;
+        }
+        while (i < size && keys[i] == highBits(candidate)) {
+            int low = containers[i].nextAbsent(lowBits(candidate));
+            if (low >= 0) {
+                return keys[i] << 16 | low;
+            }
+            candidate = (keys[i] + 1) << 16;
+            i++;
+        }
+        return candidate;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    public IntStream stream() {
+        return IntStream.of(toArray());
+    }
+
+    // Set operations
+
+    /**
+     * Keeps only the values also in {@code other}.
+     */
+    public void and(CompressedBitmap other) {
+        char[] newKeys = new char[Math.min(size, other.size)];
+        Container[] newContainers = new Container[newKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                Container result = containers[i].and(other.containers[j]);
+                if (result.cardinality() > 0) {
+                    newKeys[count] = keys[i];
+                    newContainers[count++] = result;
+                }
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Adds every value of {@code other}.
+     */
+    public void or(CompressedBitmap other) {
+        char[] newKeys = new char[size + other.size];
+        Container[] newContainers = new Container[newKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++];
+            } else if (i == size || other.keys[j] < keys[i]) {
+                newKeys[count] = other.keys[j];
+                newContainers[count++] = other.containers[j++].copy();
+            } else {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Removes every value of {@code other}.
+     */
+    public void andNot(CompressedBitmap other) {
+        char[] newKeys = new char[size];
+        Container[] newContainers = new Container[size];
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container result = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i];
+            if (result.cardinality() > 0) {
+                newKeys[count] = keys[i];
+                newContainers[count++] = result;
+            }
+        }
+        replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Returns an independent copy of this bitmap.
+     */
+    public CompressedBitmap copy() {
+        Container[] copies = new Container[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            copies[i] = containers[i].copy();
+        }
+        return new CompressedBitmap(Arrays.copyOf(keys, copies.length), copies, size);
+    }
+
+    /**
+     * Converts each container to its smallest representation, using run
+     * containers where values are contiguous. Worth calling after bulk
+     * loading; later single-value updates convert a run container back.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    /**
+     * Returns the approximate heap footprint of the containers in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 2L * keys.length + 8L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressedBitmap other) || size != other.size
+                || !Arrays.equals(keys, 0, size, other.keys, 0, other.size)) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!containers[i].sameValues(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + containers[i].cardinality();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach(value -> text.append(text.length() > 1 ? ", " : "").append(value));
+        return text.append('}').toString();
+    }
+
+    // Chunk bookkeeping
+
+    private static char highBits(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char lowBits(int value) {
+        return (char) value;
+    }
+
+    private int indexOf(char key) {
+        // Appends and in-order scans hit the last chunk; check it first
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private void replace(char[] newKeys, Container[] newContainers, int count) {
+        int capacity = Math.max(count, 4);
+        keys = Arrays.copyOf(newKeys, capacity);
+        containers = Arrays.copyOf(newContainers, capacity);
+        size = count;
+    }
+
+    // Containers
+
+    /**
+     * Values of one 65536-wide chunk. Mutators return the container to keep,
+     * which may be a different representation.
+     */
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer, RunContainer {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        /** Smallest value {@code >= from} or -1. */
+        abstract int next(int from);
+
+        /** Smallest absent value {@code >= from} or -1 if the chunk is full from there. */
+        abstract int nextAbsent(int from);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract Container copy();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract long sizeInBytes();
+
+        /** Returns the smallest of the array, bitmap and run representations. */
+        Container optimize() {
+            int runs = countRuns();
+            long runBytes = 4L * runs;
+            long arrayBytes = 2L * cardinality();
+            long bitmapBytes = 8L * WORDS;
+            if (runBytes < Math.min(arrayBytes, bitmapBytes)) {
+                return toRuns(runs);
+            }
+            return cardinality() <= ARRAY_MAX ? toArrayContainer() : toBitmapContainer();
+        }
+
+        int countRuns() {
+            int runs = 0;
+            int previous = -2;
+            for (int value = next(0); value >= 0; value = value < CHUNK - 1 ? next(value + 1) : -1) {
+                if (value != previous + 1) {
+                    runs++;
+                }
+                previous = value;
+            }
+            return runs;
+        }
+
+        RunContainer toRuns(int runCount) {
+            char[] runs = new char[2 * runCount];
+            int count = 0;
+            int value = next(0);
+            while (value >= 0) {
+                int end = nextAbsent(value);
+                int last = end < 0 ? CHUNK - 1 : end - 1;
+                runs[2 * count] = (char) value;
+                runs[2 * count + 1] = (char) (last - value);
+                count++;
+                value = last < CHUNK - 1 ? next(last + 1) : -1;
+            }
+            return new RunContainer(runs, count);
+        }
+
+        ArrayContainer toArrayContainer() {
+            ArrayContainer array = new ArrayContainer(cardinality());
+            forEach(0, value -> array.values[array.cardinality++] = (char) value);
+            return array;
+        }
+
+        BitmapContainer toBitmapContainer() {
+            BitmapContainer bitmap = new BitmapContainer();
+            forEach(0, value -> bitmap.words[value >>> 6] |= 1L << value);
+            bitmap.cardinality = cardinality();
+            return bitmap;
+        }
+
+        /** Array or bitmap form, whichever fits; used before mixed operations. */
+        Container unrun() {
+            return cardinality() <= ARRAY_MAX ? toArrayContainer() : toBitmapContainer();
+        }
+
+        boolean sameValues(Container other) {
+            if (cardinality() != other.cardinality()) {
+                return false;
+            }
+            for (int value = next(0); value >= 0; value = value < CHUNK - 1 ? next(value + 1) : -1) {
+                if (!other.contains((char) value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        char[] values;
+        int cardinality;
+
+        ArrayContainer() {
+            this(4);
+        }
+
+        ArrayContainer(int capacity) {
+            values = new char[Math.max(capacity, 1)];
+        }
+
+        @Override
+        Container add(char value) {
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmapContainer().add(value);
+            }
+            int insert = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, insert, values, insert + 1, cardinality - insert);
+            values[insert] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int next(int from) {
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            int index = position >= 0 ? position : -position - 1;
+            return index < cardinality ? values[index] : -1;
+        }
+
+        @Override
+        int nextAbsent(int from) {
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (position < 0) {
+                return from;
+            }
+            int candidate = from;
+            while (position < cardinality && values[position] == candidate) {
+                position++;
+                candidate++;
+            }
+            return candidate < CHUNK ? candidate : -1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer(cardinality);
+            System.arraycopy(values, 0, copy.values, 0, cardinality);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        Container and(Container other) {
+            ArrayContainer result = new ArrayContainer(Math.min(cardinality, other.cardinality()));
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] == array.values[j]) {
+                        result.values[result.cardinality++] = values[i];
+                        i++;
+                        j++;
+                    } else if (values[i] < array.values[j]) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result.values[result.cardinality++] = values[i];
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof ArrayContainer array && cardinality + array.cardinality <= ARRAY_MAX) {
+                ArrayContainer result = new ArrayContainer(cardinality + array.cardinality);
+                int i = 0;
+                int j = 0;
+                while (i < cardinality || j < array.cardinality) {
+                    char next;
+                    if (j == array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                        next = values[i++];
+                    } else if (i == cardinality || array.values[j] < values[i]) {
+                        next = array.values[j++];
+                    } else {
+                        next = values[i++];
+                        j++;
+                    }
+                    result.values[result.cardinality++] = next;
+                }
+                return result;
+            }
+            if (other instanceof ArrayContainer) {
+                return toBitmapContainer().or(other);
+            }
+            return other.or(this);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            ArrayContainer result = new ArrayContainer(cardinality);
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result.values[result.cardinality++] = values[i];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + 2L * values.length;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        final long[] words = new long[WORDS];
+        int cardinality;
+
+        @Override
+        Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | 1L << value;
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArrayContainer();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int next(int from) {
+            int index = from >>> 6;
+            long word = words[index] & -1L << from;
+            while (true) {
+                if (word != 0) {
+                    return index * 64 + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        @Override
+        int nextAbsent(int from) {
+            int index = from >>> 6;
+            long word = ~words[index] & -1L << from;
+            while (true) {
+                if (word != 0) {
+                    return index * 64 + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = ~words[index];
+            }
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int index = 0; index < WORDS; index++) {
+                long word = words[index];
+                while (word != 0) {
+                    action.accept(base | index * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                BitmapContainer result = new BitmapContainer();
+                int cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] = words[i] & bitmap.words[i];
+                    cardinality += Long.bitCount(result.words[i]);
+                }
+                return result.shrink(cardinality);
+            }
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            return and(other.unrun());
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof BitmapContainer bitmap) {
+                int cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] |= bitmap.words[i];
+                    cardinality += Long.bitCount(result.words[i]);
+                }
+                result.cardinality = cardinality;
+                return result;
+            }
+            other.forEach(0, value -> result.add((char) value));
+            return result;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                BitmapContainer result = new BitmapContainer();
+                int cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] = words[i] & ~bitmap.words[i];
+                    cardinality += Long.bitCount(result.words[i]);
+                }
+                return result.shrink(cardinality);
+            }
+            BitmapContainer result = (BitmapContainer) copy();
+            other.forEach(0, value -> result.words[value >>> 6] &= ~(1L << value));
+            int cardinality = 0;
+            for (long word : result.words) {
+                cardinality += Long.bitCount(word);
+            }
+            return result.shrink(cardinality);
+        }
+
+        private Container shrink(int cardinality) {
+            this.cardinality = cardinality;
+            return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + 8L * WORDS;
+        }
+    }
+
+    /**
+     * Sorted, non-overlapping runs stored as (start, length - 1) pairs.
+     */
+    private static final class RunContainer extends Container {
+
+        final char[] runs;
+        final int runCount;
+        final int cardinality;
+
+        RunContainer(char[] runs, int runCount) {
+            this.runs = runs;
+            this.runCount = runCount;
+            int total = 0;
+            for (int i = 0; i < runCount; i++) {
+                total += runs[2 * i + 1] + 1;
+            }
+            this.cardinality = total;
+        }
+
+        private int start(int run) {
+            return runs[2 * run];
+        }
+
+        private int end(int run) {
+            return runs[2 * run] + runs[2 * run + 1];
+        }
+
+        /** Index of the last run starting at or before the value, or -1. */
+        private int runAtOrBefore(int value) {
+            int low = 0;
+            int high = runCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (start(mid) <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        @Override
+        Container add(char value) {
+            return contains(value) ? this : unrun().add(value);
+        }
+
+        @Override
+        Container remove(char value) {
+            return contains(value) ? unrun().remove(value) : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            int run = runAtOrBefore(value);
+            return run >= 0 && value <= end(run);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int next(int from) {
+            int run = runAtOrBefore(from);
+            if (run >= 0 && from <= end(run)) {
+                return from;
+            }
+            return run + 1 < runCount ? start(run + 1) : -1;
+        }
+
+        @Override
+        int nextAbsent(int from) {
+            int run = runAtOrBefore(from);
+            if (run < 0 || from > end(run)) {
+                return from;
+            }
+            // Runs never touch, so the value after a run is always absent
+            int candidate = end(run) + 1;
+            return candidate < CHUNK ? candidate : -1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int run = 0; run < runCount; run++) {
+                for (int value = start(run), end = end(run); value <= end; value++) {
+                    action.accept(base | value);
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            // Run containers are never modified in place
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (cardinality == CHUNK) {
+                return other.copy();
+            }
+            return unrun().and(other);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (cardinality == CHUNK) {
+                return this;
+            }
+            return unrun().or(other);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return unrun().andNot(other);
+        }
+
+        @Override
+        Container optimize() {
+            return this;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 24L + 2L * runs.length;
+        }
+    }
+}
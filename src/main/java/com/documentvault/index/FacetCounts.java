@@ -0,0 +1,31 @@
+package com.documentvault.index;
+
+import com.documentvault.model.LibraryItem;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet counts for a result set.
+ *
+ * @param types         item count per type; types without matches are absent
+ * @param categories    item count per category id
+ * @param uncategorized number of items without a category
+ * @param tags          the most frequent tags, ordered by count then name
+ */
+public record FacetCounts(
+        Map<LibraryItem.ItemType, Integer> types,
+        Map<String, Integer> categories,
+        int uncategorized,
+        Map<String, Integer> tags) {
+
+    public FacetCounts {
+        types = Map.copyOf(types);
+        categories = Map.copyOf(categories);
+        tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+    }
+
+    public int count(LibraryItem.ItemType type) {
+        return types.getOrDefault(type, 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.documentvault.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact-match index over one string facet.
+ * Values are matched case-insensitively and kept in sorted order, so the
+ * distinct values for a facet menu are enumerated in O(distinct values)
+ * without touching any item. Each value keeps a count per spelling, so
+ * the spelling shown in menus is always one that a live item still uses.
+ */
+public class FacetIndex {
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    private final TreeMap<String, CompressedBitmap> postings = new TreeMap<>();
+    // Per normalized value: live items per spelling, the latest added spelling last
+    private final Map<String, LinkedHashMap<String, Integer>> spellings = new HashMap<>();
+
+    public void add(String value, int ordinal) {
+        String key = normalize(value);
+        postings.computeIfAbsent(key, k -> new CompressedBitmap()).add(ordinal);
+        LinkedHashMap<String, Integer> counts = spellings.computeIfAbsent(key, k -> new LinkedHashMap<>());
+        String spelling = value.trim();
+        // Re-inserting moves the spelling to the end, so it becomes the one shown
+        Integer count = counts.remove(spelling);
+        counts.put(spelling, count != null ? count + 1 : 1);
+    }
+
+    public void remove(String value, int ordinal) {
+        String key = normalize(value);
+        CompressedBitmap bits = postings.get(key);
+        if (bits != null) {
+            bits.remove(ordinal);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+                spellings.remove(key);
+            } else {
+                spellings.get(key).computeIfPresent(value.trim(), (spelling, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        spellings.clear();
+    }
+
+    /**
+     * Converts the posting lists to their most compact container layout.
+     */
+    public void compact() {
+        postings.values().forEach(CompressedBitmap::runOptimize);
+    }
+
+    /**
+     * Returns the ordinals carrying the value; must not be modified.
+     */
+    public CompressedBitmap get(String value) {
+        return value != null ? postings.getOrDefault(normalize(value), EMPTY) : EMPTY;
+    }
+
+    /**
+     * Returns the distinct values in case-insensitive order, each in the
+     * most recently indexed spelling that is still in use.
+     */
+    public List<String> values() {
+        List<String> values = new ArrayList<>(postings.size());
+        for (String key : postings.keySet()) {
+            values.add(spellings.get(key).lastEntry().getKey());
+        }
+        return values;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,171 @@
+package com.documentvault.index;
+
+import com.documentvault.model.ItemId;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from 128-bit item ids to int ordinals.
+ * Keys live in two parallel long arrays and values in an int array, so a
+ * lookup hashes two longs and probes adjacent slots without allocating or
+ * following pointers, and an entry costs 20 bytes of array space instead
+ * of a {@code HashMap} node, boxed value and key object. Collisions are
+ * resolved by linear probing; removal shifts later entries of the same
+ * run back, so no tombstones accumulate.
+ */
+public final class IdOrdinalMap {
+
+    /**
+     * Value returned for absent keys.
+     */
+    public static final int ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] highs;
+    private long[] lows;
+    // ABSENT marks a free slot, so every stored ordinal is non-negative
+    private int[] ordinals;
+    private int mask;
+    private int size;
+
+    public IdOrdinalMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ordinal for an id, or {@link #ABSENT}.
+     */
+    public int get(ItemId id) {
+        return id != null ? get(id.high(), id.low()) : ABSENT;
+    }
+
+    /**
+     * Returns the ordinal for the id with the given bits, or {@link #ABSENT}.
+     */
+    public int get(long high, long low) {
+        for (int slot = slot(high, low); ; slot = (slot + 1) & mask) {
+            int ordinal = ordinals[slot];
+            if (ordinal == ABSENT || highs[slot] == high && lows[slot] == low) {
+                return ordinal;
+            }
+        }
+    }
+
+    /**
+     * Maps an id to a non-negative ordinal.
+     *
+     * @return the previous ordinal, or {@link #ABSENT}
+     */
+    public int put(ItemId id, int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Ordinal must not be negative: " + ordinal);
+        }
+        long high = id.high();
+        long low = id.low();
+        int slot = slot(high, low);
+        for (; ordinals[slot] != ABSENT; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                int previous = ordinals[slot];
+                ordinals[slot] = ordinal;
+                return previous;
+            }
+        }
+        highs[slot] = high;
+        lows[slot] = low;
+        ordinals[slot] = ordinal;
+        // Keep the load factor at or below one half so probe runs stay short
+        if (++size > ordinals.length >>> 1) {
+            rehash(ordinals.length << 1);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @return the ordinal it mapped to, or {@link #ABSENT}
+     */
+    public int remove(ItemId id) {
+        if (id == null) {
+            return ABSENT;
+        }
+        long high = id.high();
+        long low = id.low();
+        int slot = slot(high, low);
+        for (; ordinals[slot] != ABSENT; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                int removed = ordinals[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+        return ABSENT;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Empties {@code free} and moves later entries of its probe run into
+     * the gap when their home slot lies at or before it.
+     */
+    private void shiftBack(int free) {
+        for (int slot = (free + 1) & mask; ordinals[slot] != ABSENT; slot = (slot + 1) & mask) {
+            int home = slot(highs[slot], lows[slot]);
+            // Distance from home must reach the gap for the entry to move into it
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                highs[free] = highs[slot];
+                lows[free] = lows[slot];
+                ordinals[free] = ordinals[slot];
+                free = slot;
+            }
+        }
+        ordinals[free] = ABSENT;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        int[] oldOrdinals = ordinals;
+        allocate(capacity);
+        for (int i = 0; i < oldOrdinals.length; i++) {
+            if (oldOrdinals[i] != ABSENT) {
+                int slot = slot(oldHighs[i], oldLows[i]);
+                while (ordinals[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                highs[slot] = oldHighs[i];
+                lows[slot] = oldLows[i];
+                ordinals[slot] = oldOrdinals[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        ordinals = new int[capacity];
+        Arrays.fill(ordinals, ABSENT);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Home slot of a key. Time-ordered ids share their high bits within a
+     * millisecond, so both halves are mixed in before the bits are folded.
+     */
+    private int slot(long high, long low) {
+        long hash = (high * 0x9E3779B97F4A7C15L) ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,18 @@
+package com.documentvault.index;
+
+/**
+ * Independently versioned parts of the {@link LibraryIndex}.
+ * Each dimension has a generation number that changes whenever an update
+ * alters any posting in it, so cached results can tell whether the
+ * dimensions they were computed from are still current.
+ */
+public enum IndexDimension {
+    TYPE,
+    CATEGORY,
+    TAG,
+    /** Searchable text, including the category names it embeds. */
+    TEXT,
+    DATE,
+    NUMBER,
+    FACET
+}
@@ -0,0 +1,767 @@
+package com.documentvault.index;
+
+import com.documentvault.model.Category;
+import com.documentvault.model.DateField;
+import com.documentvault.model.FacetField;
+import com.documentvault.model.FoldedText;
+import com.documentvault.model.ItemId;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.NumericField;
+import com.documentvault.model.SortField;
+import com.documentvault.model.TagDictionary;
+import com.documentvault.model.TagSet;
+import com.documentvault.model.Timestamps;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Secondary indexes over the library items.
+ * Every indexed item gets a dense integer ordinal, and each discrete filter
+ * dimension (type, category, tag) keeps a posting list of ordinals as a
+ * {@link CompressedBitmap}; tag postings are keyed by {@link TagDictionary}
+ * id and each live tag keeps a reference count in a sorted map. Searchable
+ * text is indexed by trigrams so substring queries of three or more
+ * characters can be narrowed down before verification. Both
+ * timestamps and the type-specific numeric fields are kept in
+ * {@link SortedIndex}es for range queries and ordering, titles are kept
+ * in collation order for sorting, and the type-specific string facets in
+ * {@link FacetIndex}es. A {@link ColumnStore} keeps the fields that
+ * statistics scan in primitive arrays indexed by ordinal.
+ *
+ * Each {@link IndexDimension} carries a generation number that advances
+ * whenever an update changes that dimension, so callers can cache derived
+ * results and revalidate them cheaply.
+ *
+ * Ordinals of removed items are retired rather than handed out again until
+ * {@link #clear()}, so a view that still holds one resolves it to nothing
+ * instead of to a different item.
+ *
+ * Posting lists returned by this class are the live index structures and
+ * must not be modified by callers.
+ */
+public class LibraryIndex {
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    private final IdOrdinalMap ordinalsById = new IdOrdinalMap();
+    private final List<LibraryItem> itemsByOrdinal = new ArrayList<>();
+    private final List<IndexedKeys> keysByOrdinal = new ArrayList<>();
+    private final CompressedBitmap live = new CompressedBitmap();
+    private int nextOrdinal;
+
+    private final Map<LibraryItem.ItemType, CompressedBitmap> byType = new EnumMap<>(LibraryItem.ItemType.class);
+    private final Map<String, CompressedBitmap> byCategory = new HashMap<>();
+    private final Map<String, String> categoryNames = new HashMap<>();
+    private final Map<Integer, CompressedBitmap> byTag = new HashMap<>();
+    private final NavigableMap<String, Integer> tagCounts = new TreeMap<>();
+    private final Map<Long, CompressedBitmap> byTrigram = new HashMap<>();
+    private final Map<DateField, SortedIndex<Long>> byDate = new EnumMap<>(DateField.class);
+    private final SortedIndex<CollationKey> byTitle = new SortedIndex<>();
+    private final Collator titleCollator = titleCollator();
+    private final Map<NumericField, SortedIndex<Long>> byNumber = new EnumMap<>(NumericField.class);
+    private final Map<FacetField, FacetIndex> byFacet = new EnumMap<>(FacetField.class);
+    private final ColumnStore columns = new ColumnStore();
+    private final long[] generations = new long[IndexDimension.values().length];
+
+    public LibraryIndex() {
+        for (DateField field : DateField.values()) {
+            byDate.put(field, new SortedIndex<>());
+        }
+        for (NumericField field : NumericField.values()) {
+            byNumber.put(field, new SortedIndex<>());
+        }
+        for (FacetField field : FacetField.values()) {
+            byFacet.put(field, new FacetIndex());
+        }
+    }
+
+    /**
+     * Keys an item was indexed under, kept so that an update can remove the
+     * old postings even after the item instance has been mutated in place.
+     * One is held per item, so it keeps no copies: the text is the item's
+     * own {@link FoldedText}, its trigrams being derived again to unpost
+     * them, the title is the item's own string, and timestamps and numbers
+     * are read from the {@link ColumnStore} slot until it is overwritten.
+     */
+    private record IndexedKeys(
+            LibraryItem.ItemType type,
+            String categoryId,
+            TagSet tags,
+            FoldedText text,
+            String title,
+            String[] facets,
+            long version) {
+
+        String facet(FacetField field) {
+            return facets[field.ordinal()];
+        }
+
+        IndexedKeys withText(FoldedText text) {
+            return new IndexedKeys(type, categoryId, tags, text, title, facets, version);
+        }
+    }
+
+    /**
+     * Adds an item to the index, or re-indexes it if its id is already known.
+     * Re-indexing the same instance at an unchanged version is a no-op.
+     *
+     * @return the ordinal assigned to the item
+     */
+    public int index(LibraryItem item) {
+        int existing = ordinalsById.get(item.getItemId());
+        int ordinal;
+        if (existing != IdOrdinalMap.ABSENT) {
+            ordinal = existing;
+            IndexedKeys indexed = keysByOrdinal.get(ordinal);
+            if (itemsByOrdinal.get(ordinal) == item && indexed.version() == item.getVersion()) {
+                // Unchanged since it was indexed
+                return ordinal;
+            }
+            unpost(ordinal, indexed);
+        } else {
+            ordinal = nextOrdinal++;
+            ordinalsById.put(item.getItemId(), ordinal);
+            live.add(ordinal);
+        }
+
+        IndexedKeys keys = keysOf(item);
+        advanceGenerations(ordinal, existing != IdOrdinalMap.ABSENT ? keysByOrdinal.get(ordinal) : null, keys, item);
+        set(itemsByOrdinal, ordinal, item);
+        set(keysByOrdinal, ordinal, keys);
+        columns.set(ordinal, item);
+        post(ordinal, keys);
+        return ordinal;
+    }
+
+    /**
+     * Removes the item with the given id from the index.
+     */
+    public void remove(String id) {
+        remove(ItemId.parse(id));
+    }
+
+    /**
+     * Removes the item with the given id from the index.
+     */
+    public void remove(ItemId id) {
+        int ordinal = ordinalsById.remove(id);
+        if (ordinal == IdOrdinalMap.ABSENT) {
+            return;
+        }
+        unpost(ordinal, keysByOrdinal.get(ordinal));
+        advanceGenerations(ordinal, keysByOrdinal.get(ordinal), null, null);
+        itemsByOrdinal.set(ordinal, null);
+        keysByOrdinal.set(ordinal, null);
+        columns.clear(ordinal);
+        live.remove(ordinal);
+    }
+
+    /**
+     * Removes everything from the index.
+     */
+    public void clear() {
+        ordinalsById.clear();
+        itemsByOrdinal.clear();
+        keysByOrdinal.clear();
+        live.clear();
+        nextOrdinal = 0;
+        byType.clear();
+        byCategory.clear();
+        categoryNames.clear();
+        byTag.clear();
+        tagCounts.clear();
+        byTrigram.clear();
+        byDate.values().forEach(SortedIndex::clear);
+        byTitle.clear();
+        byNumber.values().forEach(SortedIndex::clear);
+        byFacet.values().forEach(FacetIndex::clear);
+        columns.clear();
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+    }
+
+    /**
+     * Shrinks every posting list to its most compact container layout.
+     * Intended after a bulk load, when long contiguous ordinal runs (all
+     * items, dominant types) collapse into a few run containers.
+     */
+    public void compact() {
+        live.runOptimize();
+        byType.values().forEach(CompressedBitmap::runOptimize);
+        byCategory.values().forEach(CompressedBitmap::runOptimize);
+        byTag.values().forEach(CompressedBitmap::runOptimize);
+        byTrigram.values().forEach(CompressedBitmap::runOptimize);
+        byFacet.values().forEach(FacetIndex::compact);
+    }
+
+    /**
+     * Records a category's current name so that name lookups follow renames.
+     */
+    public void updateCategoryName(Category category) {
+        if (category != null && category.getId() != null && categoryNames.containsKey(category.getId())
+                && !Objects.equals(categoryNames.get(category.getId()), category.getName())) {
+            categoryNames.put(category.getId(), category.getName());
+            // The members' searchable text embeds the name, so their trigrams change too
+            CompressedBitmap members = byCategory.get(category.getId());
+            for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) {
+                repostText(i);
+            }
+            generations[IndexDimension.CATEGORY.ordinal()]++;
+            generations[IndexDimension.TEXT.ordinal()]++;
+        }
+    }
+
+    // Lookups
+
+    /**
+     * Returns the generation of a dimension. It changes on every update
+     * that alters that dimension and never repeats.
+     */
+    public long generation(IndexDimension dimension) {
+        return generations[dimension.ordinal()];
+    }
+
+    public int size() {
+        return ordinalsById.size();
+    }
+
+    /**
+     * Returns the column store for scans. It is the live structure and
+     * follows every update.
+     */
+    public ColumnStore columns() {
+        return columns;
+    }
+
+    public LibraryItem item(int ordinal) {
+        return itemsByOrdinal.get(ordinal);
+    }
+
+    public OptionalInt ordinalOf(String id) {
+        return ordinalOf(ItemId.parse(id));
+    }
+
+    public OptionalInt ordinalOf(ItemId id) {
+        int ordinal = ordinalsById.get(id);
+        return ordinal != IdOrdinalMap.ABSENT ? OptionalInt.of(ordinal) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the item with the given id, or null. Does not allocate.
+     */
+    public LibraryItem item(ItemId id) {
+        int ordinal = ordinalsById.get(id);
+        return ordinal != IdOrdinalMap.ABSENT ? itemsByOrdinal.get(ordinal) : null;
+    }
+
+    /**
+     * Returns the ordinals of all indexed items.
+     */
+    public CompressedBitmap all() {
+        return live;
+    }
+
+    public CompressedBitmap type(LibraryItem.ItemType type) {
+        return byType.getOrDefault(type, EMPTY);
+    }
+
+    public CompressedBitmap category(String categoryId) {
+        return byCategory.getOrDefault(categoryId, EMPTY);
+    }
+
+    /**
+     * Returns the ids of indexed categories whose name matches ignoring case.
+     */
+    public List<String> categoryIdsNamed(String name) {
+        List<String> ids = new ArrayList<>();
+        categoryNames.forEach((id, categoryName) -> {
+            if (categoryName != null && categoryName.equalsIgnoreCase(name)) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    public CompressedBitmap tag(String tag) {
+        if (tag == null) {
+            return EMPTY;
+        }
+        return byTag.getOrDefault(TagDictionary.lookup(tag.trim().toLowerCase()), EMPTY);
+    }
+
+    /**
+     * Returns the tags used by at least one indexed item, sorted.
+     */
+    public List<String> tagNames() {
+        return new ArrayList<>(tagCounts.keySet());
+    }
+
+    /**
+     * Returns the number of distinct tags in use.
+     */
+    public int tagCount() {
+        return tagCounts.size();
+    }
+
+    /**
+     * Returns true if the term is long enough to be narrowed down by trigrams.
+     */
+    public static boolean isTrigramSearchable(String term) {
+        return term != null && term.length() >= 3;
+    }
+
+    /**
+     * Returns the smallest trigram posting list of the term, an upper bound
+     * on the number of items containing it.
+     */
+    public int estimateText(String term) {
+        int estimate = live.cardinality();
+        for (long trigram : trigrams(term)) {
+            estimate = Math.min(estimate, byTrigram.getOrDefault(trigram, EMPTY).cardinality());
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the ordinals of items whose searchable text contains every
+     * trigram of the term. This is a superset of the items containing the
+     * term itself, so callers still verify each candidate.
+     */
+    public CompressedBitmap textCandidates(String term) {
+        long[] termTrigrams = trigrams(term);
+        CompressedBitmap result = null;
+        for (long trigram : termTrigrams) {
+            CompressedBitmap postings = byTrigram.get(trigram);
+            if (postings == null) {
+                return new CompressedBitmap();
+            }
+            if (result == null) {
+                result = postings.copy();
+            } else {
+                result.and(postings);
+            }
+        }
+        return result != null ? result : live.copy();
+    }
+
+    /**
+     * Returns the ordinals whose timestamp falls in {@code [from, to)}.
+     * A null bound leaves that side of the range open.
+     */
+    public CompressedBitmap dateRange(DateField field, LocalDateTime from, LocalDateTime to) {
+        return byDate.get(field).range(from != null ? Timestamps.encode(from) : null,
+                to != null ? Timestamps.encode(to) : null);
+    }
+
+    /**
+     * Returns the ordinals whose numeric field lies in {@code [min, max]}.
+     * A null bound leaves that side of the range open; items of other types
+     * never match.
+     */
+    public CompressedBitmap numericRange(NumericField field, Long min, Long max) {
+        return byNumber.get(field).range(min, true, max, true);
+    }
+
+    /**
+     * Returns the ordinals whose facet equals the value, ignoring case.
+     */
+    public CompressedBitmap facet(FacetField field, String value) {
+        return byFacet.get(field).get(value);
+    }
+
+    /**
+     * Returns the distinct values of a facet in sorted order.
+     */
+    public List<String> facetValues(FacetField field) {
+        return byFacet.get(field).values();
+    }
+
+    /**
+     * Counts types, categories and the top tags of a result set.
+     * When the result is the whole library the counts come straight from the
+     * posting list sizes; otherwise they are gathered in one fused pass over
+     * the result's indexed keys, so extra facets add no extra scans.
+     */
+    public FacetCounts facetCounts(CompressedBitmap ordinals, int topTags) {
+        Map<LibraryItem.ItemType, Integer> types = new EnumMap<>(LibraryItem.ItemType.class);
+        Map<String, Integer> categories = new HashMap<>();
+        Map<String, Integer> tags = new HashMap<>();
+        int uncategorized;
+
+        if (ordinals.equals(live)) {
+            putCardinalities(byType, types);
+            putCardinalities(byCategory, categories);
+            tags.putAll(tagCounts);
+            uncategorized = size() - categories.values().stream().mapToInt(Integer::intValue).sum();
+        } else {
+            int[] typeCounts = new int[LibraryItem.ItemType.values().length];
+            int[] tagHits = new int[TagDictionary.size()];
+            int noCategory = 0;
+            for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+                IndexedKeys keys = keysByOrdinal.get(i);
+                if (keys.type() != null) {
+                    typeCounts[keys.type().ordinal()]++;
+                }
+                if (keys.categoryId() != null) {
+                    categories.merge(keys.categoryId(), 1, Integer::sum);
+                } else {
+                    noCategory++;
+                }
+                keys.tags().forEachId(id -> tagHits[id]++);
+            }
+            for (LibraryItem.ItemType type : LibraryItem.ItemType.values()) {
+                if (typeCounts[type.ordinal()] > 0) {
+                    types.put(type, typeCounts[type.ordinal()]);
+                }
+            }
+            for (int id = 0; id < tagHits.length; id++) {
+                if (tagHits[id] > 0) {
+                    tags.put(TagDictionary.name(id), tagHits[id]);
+                }
+            }
+            uncategorized = noCategory;
+        }
+
+        return new FacetCounts(types, categories, uncategorized, topEntries(tags, topTags));
+    }
+
+    private static <K> void putCardinalities(Map<K, CompressedBitmap> postings, Map<K, Integer> counts) {
+        postings.forEach((key, bits) -> {
+            int cardinality = bits.cardinality();
+            if (cardinality > 0) {
+                counts.put(key, cardinality);
+            }
+        });
+    }
+
+    private static Map<String, Integer> topEntries(Map<String, Integer> counts, int limit) {
+        Comparator<Map.Entry<String, Integer>> byCountThenName = Map.Entry.<String, Integer>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // Bounded heap keeps the selection O(n log limit)
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(byCountThenName.reversed());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(heap);
+        top.sort(byCountThenName);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        top.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} of the given items ordered by a timestamp.
+     * See {@link #sortedOrdinals(CompressedBitmap, DateField, boolean, int)}.
+     */
+    public List<LibraryItem> sorted(CompressedBitmap ordinals, DateField field, boolean descending, int limit) {
+        return items(sortedOrdinals(ordinals, field, descending, limit));
+    }
+
+    /**
+     * Returns up to {@code limit} of the given ordinals ordered by a timestamp.
+     */
+    public int[] sortedOrdinals(CompressedBitmap ordinals, DateField field, boolean descending, int limit) {
+        return sortedOrdinals(ordinals, SortField.of(field), descending, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} of the given ordinals in a sort order.
+     * Large result sets are served by walking the field's sorted index; small
+     * ones are sorted directly, whichever touches fewer entries. Ties are
+     * broken by ordinal and items without a key come last.
+     */
+    public int[] sortedOrdinals(CompressedBitmap ordinals, SortField field, boolean descending, int limit) {
+        int count = ordinals.cardinality();
+        int wanted = Math.min(count, limit);
+        if (wanted == 0) {
+            return new int[0];
+        }
+
+        long sortCost = (long) count * (32 - Integer.numberOfLeadingZeros(count));
+        if (sortCost < size() || wanted < count && count < 64) {
+            Comparator<Integer> order = field == SortField.TITLE
+                    ? keyOrder(ordinal -> keysByOrdinal.get(ordinal).title(), titleCollator::compare, descending)
+                    : keyOrder(ordinal -> timeKey(columns.time(field.dateField(), ordinal)),
+                            Comparator.naturalOrder(), descending);
+            return ordinals.stream().boxed().sorted(order).limit(wanted)
+                    .mapToInt(Integer::intValue).toArray();
+        }
+
+        SortedIndex<?> sortIndex = field == SortField.TITLE ? byTitle : byDate.get(field.dateField());
+        int[] result = new int[wanted];
+        int[] filled = {0};
+        sortIndex.forEach(descending, ordinal -> {
+            if (ordinals.contains(ordinal)) {
+                result[filled[0]++] = ordinal;
+            }
+            return filled[0] < wanted;
+        });
+        return result;
+    }
+
+    private static <K> Comparator<Integer> keyOrder(IntFunction<K> key, Comparator<? super K> keyOrder,
+            boolean descending) {
+        Comparator<K> ascending = keyOrder::compare;
+        Comparator<K> directed = descending ? ascending.reversed() : ascending;
+        return Comparator.comparing((Integer ordinal) -> key.apply(ordinal), Comparator.nullsLast(directed))
+                .thenComparing(descending ? Comparator.<Integer>reverseOrder() : Comparator.<Integer>naturalOrder());
+    }
+
+    /**
+     * Returns the sorted-index key of an encoded timestamp, null if missing.
+     */
+    private static Long timeKey(long timestamp) {
+        return timestamp != Timestamps.NONE ? timestamp : null;
+    }
+
+    private CollationKey titleKey(String title) {
+        return title != null ? titleCollator.getCollationKey(title) : null;
+    }
+
+    /**
+     * Titles sort by the default locale's collation, ignoring case.
+     */
+    private static Collator titleCollator() {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    /**
+     * Returns the items for the given ordinals in the same order, with null
+     * for ordinals that no longer hold an item.
+     */
+    public List<LibraryItem> items(int[] ordinals) {
+        List<LibraryItem> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(ordinal >= 0 && ordinal < itemsByOrdinal.size() ? itemsByOrdinal.get(ordinal) : null);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the items for the given ordinals in ordinal order.
+     */
+    public List<LibraryItem> materialize(CompressedBitmap ordinals) {
+        List<LibraryItem> result = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            result.add(itemsByOrdinal.get(i));
+        }
+        return result;
+    }
+
+    // Index maintenance
+
+    private IndexedKeys keysOf(LibraryItem item) {
+        Category category = item.getCategory();
+        String categoryId = category != null ? category.getId() : null;
+        if (categoryId != null) {
+            categoryNames.put(categoryId, category.getName());
+        }
+        return new IndexedKeys(
+                item.getItemType(),
+                categoryId,
+                item.getTagSet(),
+                item.getFoldedText(),
+                item.getTitle(),
+                facetsOf(item),
+                item.getVersion());
+    }
+
+    /**
+     * Replaces the trigram postings of an item with those of its current
+     * searchable text, leaving every other posting as it is.
+     */
+    private void repostText(int ordinal) {
+        IndexedKeys keys = keysByOrdinal.get(ordinal);
+        FoldedText text = itemsByOrdinal.get(ordinal).getFoldedText();
+        for (long trigram : trigrams(keys.text())) {
+            clearPosting(byTrigram, trigram, ordinal);
+        }
+        for (long trigram : trigrams(text)) {
+            byTrigram.computeIfAbsent(trigram, t -> new CompressedBitmap()).add(ordinal);
+        }
+        keysByOrdinal.set(ordinal, keys.withText(text));
+    }
+
+    private static String[] facetsOf(LibraryItem item) {
+        String[] facets = new String[FacetField.values().length];
+        for (FacetField field : FacetField.values()) {
+            facets[field.ordinal()] = field.valueOf(item);
+        }
+        return facets;
+    }
+
+    /**
+     * Advances the generation of every dimension whose keys differ between
+     * the old and new snapshot; null stands for an absent item. Called
+     * before the item's column slot is overwritten, so the slot still holds
+     * the old timestamps and numbers.
+     */
+    private void advanceGenerations(int ordinal, IndexedKeys before, IndexedKeys after, LibraryItem item) {
+        if (before == null && after == null) {
+            return;
+        }
+        // A vacated or unwritten slot holds no numbers, so this covers adds and removes too
+        advanceIf(IndexDimension.NUMBER, numbersChanged(ordinal, item));
+        if (before == null || after == null) {
+            IndexedKeys keys = before != null ? before : after;
+            advanceIf(IndexDimension.TYPE, keys.type() != null);
+            advanceIf(IndexDimension.CATEGORY, keys.categoryId() != null);
+            advanceIf(IndexDimension.TAG, !keys.tags().isEmpty());
+            // Text too short for trigrams can still match a short query
+            advanceIf(IndexDimension.TEXT, true);
+            advanceIf(IndexDimension.DATE, true);
+            advanceIf(IndexDimension.FACET, Arrays.stream(keys.facets()).anyMatch(Objects::nonNull));
+            return;
+        }
+        advanceIf(IndexDimension.TYPE, before.type() != after.type());
+        advanceIf(IndexDimension.CATEGORY, !Objects.equals(before.categoryId(), after.categoryId()));
+        advanceIf(IndexDimension.TAG, !before.tags().equals(after.tags()));
+        advanceIf(IndexDimension.TEXT, before.text() != after.text()
+                && !before.text().contentEquals(after.text()));
+        advanceIf(IndexDimension.DATE, columns.time(DateField.CREATED, ordinal) != item.getDateAddedTimestamp()
+                || columns.time(DateField.MODIFIED, ordinal) != item.getLastModifiedTimestamp());
+        advanceIf(IndexDimension.FACET, !Arrays.equals(before.facets(), after.facets()));
+    }
+
+    /**
+     * Returns true if the numbers in an item's column slot differ from the
+     * item's current ones; a null item carries none.
+     */
+    private boolean numbersChanged(int ordinal, LibraryItem item) {
+        for (NumericField field : NumericField.values()) {
+            long current = item != null ? field.valueOf(item).orElse(ColumnStore.NO_VALUE) : ColumnStore.NO_VALUE;
+            if (columns.number(field, ordinal) != current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void advanceIf(IndexDimension dimension, boolean changed) {
+        if (changed) {
+            generations[dimension.ordinal()]++;
+        }
+    }
+
+    private void post(int ordinal, IndexedKeys keys) {
+        if (keys.type() != null) {
+            byType.computeIfAbsent(keys.type(), t -> new CompressedBitmap()).add(ordinal);
+        }
+        if (keys.categoryId() != null) {
+            byCategory.computeIfAbsent(keys.categoryId(), c -> new CompressedBitmap()).add(ordinal);
+        }
+        keys.tags().forEachId(id -> {
+            byTag.computeIfAbsent(id, t -> new CompressedBitmap()).add(ordinal);
+            tagCounts.merge(TagDictionary.name(id), 1, Integer::sum);
+        });
+        for (long trigram : trigrams(keys.text())) {
+            byTrigram.computeIfAbsent(trigram, t -> new CompressedBitmap()).add(ordinal);
+        }
+        byDate.forEach((field, dates) -> dates.add(timeKey(columns.time(field, ordinal)), ordinal));
+        byTitle.add(titleKey(keys.title()), ordinal);
+        byNumber.forEach((field, numbers) -> {
+            long value = columns.number(field, ordinal);
+            if (value != ColumnStore.NO_VALUE) {
+                numbers.add(value, ordinal);
+            }
+        });
+        byFacet.forEach((field, facets) -> {
+            if (keys.facet(field) != null) {
+                facets.add(keys.facet(field), ordinal);
+            }
+        });
+    }
+
+    private void unpost(int ordinal, IndexedKeys keys) {
+        if (keys.type() != null) {
+            clearPosting(byType, keys.type(), ordinal);
+        }
+        if (keys.categoryId() != null) {
+            clearPosting(byCategory, keys.categoryId(), ordinal);
+            if (!byCategory.containsKey(keys.categoryId())) {
+                categoryNames.remove(keys.categoryId());
+            }
+        }
+        keys.tags().forEachId(id -> {
+            clearPosting(byTag, id, ordinal);
+            // Dropping the count at zero keeps tagCounts limited to live tags
+            tagCounts.computeIfPresent(TagDictionary.name(id), (tag, count) -> count > 1 ? count - 1 : null);
+        });
+        for (long trigram : trigrams(keys.text())) {
+            clearPosting(byTrigram, trigram, ordinal);
+        }
+        byDate.forEach((field, dates) -> dates.remove(timeKey(columns.time(field, ordinal)), ordinal));
+        byTitle.remove(titleKey(keys.title()), ordinal);
+        byNumber.forEach((field, numbers) -> {
+            long value = columns.number(field, ordinal);
+            if (value != ColumnStore.NO_VALUE) {
+                numbers.remove(value, ordinal);
+            }
+        });
+        byFacet.forEach((field, facets) -> {
+            if (keys.facet(field) != null) {
+                facets.remove(keys.facet(field), ordinal);
+            }
+        });
+    }
+
+    private static <K> void clearPosting(Map<K, CompressedBitmap> postings, K key, int ordinal) {
+        CompressedBitmap bits = postings.get(key);
+        if (bits != null) {
+            bits.remove(ordinal);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static <T> void set(List<T> list, int index, T value) {
+        while (list.size() <= index) {
+            list.add(null);
+        }
+        list.set(index, value);
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long.
+     */
+    static long[] trigrams(String text) {
+        if (text == null || text.length() < 3) {
+            return new long[0];
+        }
+        long[] packed = new long[text.length() - 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = trigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        return Arrays.stream(packed).sorted().distinct().toArray();
+    }
+
+    /**
+     * Returns the distinct trigrams of an item's folded text, each packed
+     * into a long.
+     */
+    private static long[] trigrams(FoldedText text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] packed = new long[text.length() - 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = trigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        return Arrays.stream(packed).sorted().distinct().toArray();
+    }
+
+    private static long trigram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+}
@@ -0,0 +1,110 @@
+package com.documentvault.index;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Sorted index of item ordinals by one comparable field.
+ * Entries are ordered by key and then by ordinal, so range scans and
+ * ascending/descending walks cost O(log n + k). Items without a key are
+ * kept aside and reported after all keyed items.
+ *
+ * Used for the date indexes, the title sort order and the numeric range
+ * indexes.
+ */
+public class SortedIndex<K extends Comparable<? super K>> {
+
+    private record Entry<K>(K key, int ordinal) {
+    }
+
+    private final Comparator<Entry<K>> order = Comparator
+            .comparing((Entry<K> entry) -> entry.key())
+            .thenComparingInt(Entry::ordinal);
+
+    private final NavigableSet<Entry<K>> entries = new TreeSet<>(order);
+    private final CompressedBitmap unkeyed = new CompressedBitmap();
+
+    public void add(K key, int ordinal) {
+        if (key == null) {
+            unkeyed.add(ordinal);
+        } else {
+            entries.add(new Entry<>(key, ordinal));
+        }
+    }
+
+    public void remove(K key, int ordinal) {
+        if (key == null) {
+            unkeyed.remove(ordinal);
+        } else {
+            entries.remove(new Entry<>(key, ordinal));
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        unkeyed.clear();
+    }
+
+    /**
+     * Returns the ordinals with a key in {@code [from, to)}.
+     * A null bound leaves that side of the range open.
+     */
+    public CompressedBitmap range(K from, K to) {
+        return range(from, true, to, false);
+    }
+
+    /**
+     * Returns the ordinals with a key between the bounds.
+     * A null bound leaves that side of the range open.
+     */
+    public CompressedBitmap range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        NavigableSet<Entry<K>> slice = slice(from, fromInclusive, to, toInclusive);
+        int[] ordinals = new int[slice.size()];
+        int count = 0;
+        for (Entry<K> entry : slice) {
+            ordinals[count++] = entry.ordinal();
+        }
+        // Entries come in key order; sorting first makes the bitmap build append-only
+        return CompressedBitmap.of(ordinals);
+    }
+
+    /**
+     * Visits ordinals in key order, unkeyed items last, until the visitor
+     * returns false.
+     */
+    public void forEach(boolean descending, IntPredicate visitor) {
+        Iterator<Entry<K>> iterator = descending ? entries.descendingIterator() : entries.iterator();
+        while (iterator.hasNext()) {
+            if (!visitor.test(iterator.next().ordinal())) {
+                return;
+            }
+        }
+        for (int i = unkeyed.nextSetBit(0); i >= 0; i = unkeyed.nextSetBit(i + 1)) {
+            if (!visitor.test(i)) {
+                return;
+            }
+        }
+    }
+
+    private NavigableSet<Entry<K>> slice(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        // Boundary entries sort before every real ordinal, or after it when
+        // the bound must include (to) or exclude (from) equal keys.
+        Entry<K> lower = from != null ? new Entry<>(from, fromInclusive ? Integer.MIN_VALUE : Integer.MAX_VALUE) : null;
+        Entry<K> upper = to != null ? new Entry<>(to, toInclusive ? Integer.MAX_VALUE : Integer.MIN_VALUE) : null;
+        if (lower != null && upper != null) {
+            return order.compare(lower, upper) < 0
+                    ? entries.subSet(lower, true, upper, false)
+                    : new TreeSet<>(order);
+        }
+        if (lower != null) {
+            return entries.tailSet(lower, true);
+        }
+        if (upper != null) {
+            return entries.headSet(upper, false);
+        }
+        return entries;
+    }
+}
@@ -1,5 +1,7 @@
 package com.documentvault.model;
 
+import com.documentvault.util.IdGenerator;
+
 import java.util.Objects;
 
 /**
@@ -13,7 +15,7 @@ public class Category {
     private String description;
 
     public Category() {
-        this.id = java.util.UUID.randomUUID().toString();
+        this.id = IdGenerator.timeOrdered().toString();
         this.color = "#3498db"; // Default blue color
     }
 
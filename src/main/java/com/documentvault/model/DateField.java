@@ -0,0 +1,28 @@
+package com.documentvault.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timestamp fields of a library item that can be range-queried and sorted.
+ */
+public enum DateField {
+    CREATED("created"),
+    MODIFIED("modified");
+
+    private final String keyword;
+
+    DateField(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the field name used in the query language.
+     */
+    public String keyword() {
+        return keyword;
+    }
+
+    public LocalDateTime valueOf(LibraryItem item) {
+        return this == CREATED ? item.getDateAdded() : item.getLastModified();
+    }
+}
@@ -0,0 +1,49 @@
+package com.documentvault.model;
+
+/**
+ * Type-specific string fields that are indexed for exact-match filtering
+ * and facet menus. Each field only exists on one item type.
+ */
+public enum FacetField {
+    AUTHOR("author", LibraryItem.ItemType.PDF),
+    SOURCE("source", LibraryItem.ItemType.MEDIA_LINK),
+    MEDIA_TYPE("media", LibraryItem.ItemType.MEDIA_LINK),
+    LANGUAGE("language", LibraryItem.ItemType.TEXT_SNIPPET);
+
+    private final String keyword;
+    private final LibraryItem.ItemType itemType;
+
+    FacetField(String keyword, LibraryItem.ItemType itemType) {
+        this.keyword = keyword;
+        this.itemType = itemType;
+    }
+
+    /**
+     * Returns the field name used in the query language.
+     */
+    public String keyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the item type that carries this field.
+     */
+    public LibraryItem.ItemType itemType() {
+        return itemType;
+    }
+
+    /**
+     * Returns the field's value, or null if the item does not have one.
+     * Java 25: Pattern matching over the sealed item hierarchy.
+     */
+    public String valueOf(LibraryItem item) {
+        String value = switch (this) {
+            case AUTHOR -> item instanceof PdfDocument pdf ? pdf.getAuthor() : null;
+            case SOURCE -> item instanceof MediaLink media ? media.getSource() : null;
+            case MEDIA_TYPE -> item instanceof MediaLink media && media.getMediaType() != null
+                    ? media.getMediaType().getDisplayName() : null;
+            case LANGUAGE -> item instanceof TextSnippet snippet ? snippet.getLanguage() : null;
+        };
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+}
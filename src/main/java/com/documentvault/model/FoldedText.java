@@ -0,0 +1,120 @@
+package com.documentvault.model;
+
+import com.documentvault.util.SubstringKernel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lower-cased searchable text of an item, kept ready for substring scans.
+ * Built once per item version by {@link LibraryItem#getFoldedText()}, so
+ * repeated brute-force queries neither rebuild nor re-fold the text.
+ *
+ * When the Vector API is available the text is held as a raw array for
+ * {@link SubstringKernel#vectorized()}: one byte per char when every
+ * folded char fits in Latin-1, which covers most notes and doubles the
+ * positions tested per vector, and UTF-16 chars otherwise. Without it the
+ * folded string itself is kept, since the JIT's intrinsic for
+ * {@link String#contains} beats any scalar loop over an array.
+ */
+public final class FoldedText {
+
+    private static final SubstringKernel KERNEL = SubstringKernel.vectorized().orElse(null);
+
+    private final long version;
+    // The category name is part of the text but a rename does not change the item's version
+    private final String categoryName;
+    // Exactly one of these is set
+    private final String text;
+    private final byte[] latin1;
+    private final char[] chars;
+
+    private FoldedText(long version, String categoryName, String folded) {
+        this.version = version;
+        this.categoryName = categoryName;
+        if (KERNEL == null) {
+            this.text = folded;
+            this.latin1 = null;
+            this.chars = null;
+        } else if (isLatin1(folded)) {
+            this.text = null;
+            this.latin1 = folded.getBytes(StandardCharsets.ISO_8859_1);
+            this.chars = null;
+        } else {
+            this.text = null;
+            this.latin1 = null;
+            this.chars = folded.toCharArray();
+        }
+    }
+
+    /**
+     * Folds arbitrary text the way item text is folded.
+     */
+    public static FoldedText of(String text) {
+        return new FoldedText(-1, null, text.toLowerCase());
+    }
+
+    static FoldedText of(LibraryItem item, long version) {
+        return new FoldedText(version, categoryNameOf(item), item.getSearchableText().toLowerCase());
+    }
+
+    /**
+     * Returns true if this was built from the item as it is now.
+     */
+    boolean isCurrent(LibraryItem item, long version) {
+        // Reference comparison: a rename always installs a new string
+        return this.version == version && categoryName == categoryNameOf(item);
+    }
+
+    /**
+     * Returns true if the text contains a pattern that has already been
+     * lower-cased with {@link String#toLowerCase()}.
+     */
+    public boolean contains(String foldedPattern) {
+        if (text != null) {
+            return text.contains(foldedPattern);
+        }
+        if (latin1 != null) {
+            // A char outside Latin-1 cannot occur in Latin-1 text
+            return isLatin1(foldedPattern) && KERNEL.indexOf(latin1, foldedPattern) >= 0;
+        }
+        return KERNEL.indexOf(chars, foldedPattern) >= 0;
+    }
+
+    /**
+     * Returns the number of chars in the folded text.
+     */
+    public int length() {
+        return text != null ? text.length() : latin1 != null ? latin1.length : chars.length;
+    }
+
+    /**
+     * Returns the folded char at the given position.
+     */
+    public char charAt(int index) {
+        return text != null ? text.charAt(index) : latin1 != null ? (char) (latin1[index] & 0xFF) : chars[index];
+    }
+
+    /**
+     * Returns true if both hold the same folded text.
+     */
+    public boolean contentEquals(FoldedText other) {
+        // Equal text is always held in the same form, so comparing like with like suffices
+        return Objects.equals(text, other.text) && Arrays.equals(latin1, other.latin1)
+                && Arrays.equals(chars, other.chars);
+    }
+
+    private static boolean isLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String categoryNameOf(LibraryItem item) {
+        return item.getCategory() != null ? item.getCategory().getName() : null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.documentvault.model;
+
+import com.documentvault.util.DateUtil;
+
+/**
+ * Precomputed display values of a library item.
+ * Built once per item version by {@link LibraryItem#getDisplay()}, so table
+ * cells, previews and description listings read cached strings instead of
+ * rescanning content or reformatting dates on every access.
+ *
+ * @param version item version the values were computed from
+ * @param icon type icon, which varies with some metadata
+ * @param description one-line summary with type-specific metadata
+ * @param preview whitespace-collapsed content preview, or null if the type has no content
+ * @param lineCount lines of content, 0 if the type has no content
+ * @param dateAdded formatted date the item was added
+ */
+public record ItemDisplay(
+        long version,
+        String icon,
+        String description,
+        String preview,
+        int lineCount,
+        String dateAdded) {
+
+    private static final int PREVIEW_LENGTH = 100;
+
+    /**
+     * Computes the display values of an item as it is now.
+     * Java 25: Exhaustive switch over the sealed hierarchy.
+     */
+    static ItemDisplay of(LibraryItem item, long version) {
+        String dateAdded = DateUtil.formatDateTime(item.getDateAdded());
+        return switch (item) {
+            case Note note -> {
+                String preview = preview(note.getContent(), "Empty note");
+                String description = note.getContent() != null && note.getContent().length() > 1000
+                        ? "Long note (" + preview + ")"
+                        : "Note: " + preview;
+                yield new ItemDisplay(version, note.isMarkdown() ? "📝✨" : "📝",
+                        description, preview, 0, dateAdded);
+            }
+            case PdfDocument pdf -> {
+                String description = pdf.getPageCount() > 0
+                        ? "PDF: " + pdf.getFileName() + " (" + pdf.getPageCount() + " pages)"
+                        : "PDF: " + pdf.getFileName();
+                yield new ItemDisplay(version, pdf.getPageCount() > 100 ? "📚" : "📄",
+                        description, null, 0, dateAdded);
+            }
+            case MediaLink media -> {
+                String description = media.getDurationMinutes() > 0
+                        ? "Media: " + media.getMediaType().getDisplayName()
+                                + " (" + media.getDurationFormatted() + ")"
+                        : "Media: " + media.getMediaType().getDisplayName();
+                yield new ItemDisplay(version, media.getDurationMinutes() > 60 ? "🎬" : "🎵",
+                        description, null, 0, dateAdded);
+            }
+            case TextSnippet snippet -> {
+                String preview = preview(snippet.getContent(), "Empty snippet");
+                String description = snippet.getLanguage() != null && !snippet.getLanguage().equals("text")
+                        ? "Snippet (" + snippet.getLanguage() + "): " + preview
+                        : "Snippet: " + preview;
+                yield new ItemDisplay(version, "💻", description, preview,
+                        lineCount(snippet.getContent()), dateAdded);
+            }
+        };
+    }
+
+    /**
+     * Collapses whitespace runs to single spaces, trims, and truncates to
+     * {@value #PREVIEW_LENGTH} characters. Same result as
+     * {@code replaceAll("\\s+", " ").trim()} followed by truncation, in one
+     * pass that stops once the preview is known to be truncated.
+     */
+    static String preview(String content, String empty) {
+        if (content == null || content.isEmpty()) {
+            return empty;
+        }
+        int start = 0;
+        while (start < content.length() && content.charAt(start) <= ' ') {
+            start++;
+        }
+        StringBuilder out = new StringBuilder(Math.min(content.length() - start, PREVIEW_LENGTH + 1));
+        boolean pendingSpace = false;
+        for (int i = start; i < content.length(); i++) {
+            if (out.length() > PREVIEW_LENGTH && out.charAt(out.length() - 1) > ' ') {
+                // Longer than the preview even after trimming
+                return out.substring(0, PREVIEW_LENGTH - 3) + "...";
+            }
+            char c = content.charAt(i);
+            if (isRegexSpace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.append(c);
+        }
+        // trim() also drops trailing control characters that \s does not match
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end > PREVIEW_LENGTH) {
+            return out.substring(0, PREVIEW_LENGTH - 3) + "...";
+        }
+        return out.substring(0, end);
+    }
+
+    /**
+     * Counts lines the way {@code content.split("\n").length} does, which
+     * ignores trailing empty lines, without allocating the parts.
+     */
+    static int lineCount(String content) {
+        if (content == null || content.isEmpty()) {
+            return 0;
+        }
+        int last = content.length() - 1;
+        while (last >= 0 && content.charAt(last) == '\n') {
+            last--;
+        }
+        if (last < 0) {
+            return 0;
+        }
+        int lines = 1;
+        for (int i = 0; i < last; i++) {
+            if (content.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,80 @@
+package com.documentvault.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Identifier of a library item, held as 128 bits instead of a 36-character
+ * string.
+ * Ids in canonical UUID form, which is every id the application generates,
+ * are stored as the UUID's two longs alone and formatted on demand. Any
+ * other id, such as one imported from an older file, also keeps its text
+ * and is given the bits of a name-based UUID so it can be keyed the same
+ * way.
+ *
+ * @param high most significant 64 bits
+ * @param low least significant 64 bits
+ * @param text the original id if it is not a canonical UUID, otherwise null
+ */
+public record ItemId(long high, long low, String text) {
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Returns the id for a UUID.
+     */
+    public static ItemId of(UUID uuid) {
+        return new ItemId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null);
+    }
+
+    /**
+     * Parses an id string, or returns null for null.
+     */
+    public static ItemId parse(String id) {
+        if (id == null) {
+            return null;
+        }
+        if (isCanonicalUuid(id)) {
+            return new ItemId(hex(id, 0, 8) << 32 | hex(id, 9, 13) << 16 | hex(id, 14, 18),
+                    hex(id, 19, 23) << 48 | hex(id, 24, 36), null);
+        }
+        UUID nameBased = UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8));
+        return new ItemId(nameBased.getMostSignificantBits(), nameBased.getLeastSignificantBits(), id);
+    }
+
+    /**
+     * Returns the id as text, exactly as it was parsed.
+     */
+    @Override
+    public String toString() {
+        return text != null ? text : new UUID(high, low).toString();
+    }
+
+    /**
+     * Checks for the lower-case 8-4-4-4-12 form that {@link UUID#toString()}
+     * produces, so that formatting a parsed id gives back the same string.
+     */
+    private static boolean isCanonicalUuid(String id) {
+        if (id.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = id.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : c >= '0' && c <= '9' || c >= 'a' && c <= 'f';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hex(String text, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value << 4 | Character.digit(text.charAt(i), 16);
+        }
+        return value;
+    }
+}
@@ -1,9 +1,11 @@
 package com.documentvault.model;
 
+import com.documentvault.util.IdGenerator;
+import com.google.gson.annotations.JsonAdapter;
+
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract sealed class for all library items.
@@ -16,14 +18,25 @@ import java.util.UUID;
 public abstract sealed class LibraryItem
         permits Note, PdfDocument, MediaLink, TextSnippet {
 
-    private String id;
+    // Shared by all items so versions also order changes across items
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // Compact layout: the id as two longs, timestamps as encoded longs, and
+    // tags as interned ids. Field names and stored formats are unchanged.
+    private ItemId id;
     private String title;
     private String description;
     private Category category;
-    private Set<String> tags;
-    private LocalDateTime dateAdded;
-    private LocalDateTime lastModified;
+    private TagSet tags;
+    @JsonAdapter(Timestamps.GsonAdapter.class)
+    private long dateAdded;
+    @JsonAdapter(Timestamps.GsonAdapter.class)
+    private long lastModified;
     private ItemType itemType;
+    // Not persisted: versions only order changes within one session
+    private transient volatile long version = VERSIONS.incrementAndGet();
+    private transient ItemDisplay display;
+    private transient FoldedText foldedText;
 
     /**
      * Enum representing the different types of library items.
@@ -49,18 +62,63 @@ public abstract sealed class LibraryItem
      * Constructor for creating a new library item.
      */
     public LibraryItem(ItemType itemType) {
-        this.id = UUID.randomUUID().toString();
+        this.id = ItemId.of(IdGenerator.timeOrdered());
         this.itemType = itemType;
-        this.tags = new HashSet<>();
-        this.dateAdded = LocalDateTime.now();
-        this.lastModified = LocalDateTime.now();
+        this.tags = TagSet.EMPTY;
+        this.dateAdded = Timestamps.encode(LocalDateTime.now());
+        this.lastModified = Timestamps.encode(LocalDateTime.now());
     }
 
     /**
      * Updates the last modified timestamp.
      */
     public void touch() {
-        this.lastModified = LocalDateTime.now();
+        this.lastModified = Timestamps.encode(LocalDateTime.now());
+        changed();
+    }
+
+    /**
+     * Marks a change that does not update the last modified timestamp.
+     */
+    protected void changed() {
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of this item. Every mutating setter moves it to a
+     * new value of a global sequence, so unlike {@link #getLastModified()} it
+     * never ties and never goes backwards: an item has changed since it was
+     * last seen exactly when its version differs, and of two changes the
+     * one with the larger version happened later.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the display values of this item, computed once per version.
+     */
+    public ItemDisplay getDisplay() {
+        ItemDisplay current = display;
+        if (current == null || current.version() != version) {
+            current = ItemDisplay.of(this, version);
+            display = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the lower-cased searchable text for substring scans, built
+     * once per version and rebuilt when the category is renamed.
+     */
+    public FoldedText getFoldedText() {
+        FoldedText current = foldedText;
+        long currentVersion = version;
+        if (current == null || !current.isCurrent(this, currentVersion)) {
+            current = FoldedText.of(this, currentVersion);
+            foldedText = current;
+        }
+        return current;
     }
 
     /**
@@ -68,7 +126,7 @@ public abstract sealed class LibraryItem
      */
     public void addTag(String tag) {
         if (tag != null && !tag.trim().isEmpty()) {
-            this.tags.add(tag.trim().toLowerCase());
+            this.tags = this.tags.with(tag.trim().toLowerCase());
             touch();
         }
     }
@@ -78,13 +136,14 @@ public abstract sealed class LibraryItem
      */
     public void removeTag(String tag) {
         if (tag != null) {
-            this.tags.remove(tag.trim().toLowerCase());
+            this.tags = this.tags.without(tag.trim().toLowerCase());
             touch();
         }
     }
 
     /**
      * Checks if this item has a specific tag.
+     * Tags are dictionary ids, so this is a lookup plus a binary search.
      */
     public boolean hasTag(String tag) {
         return tag != null && this.tags.contains(tag.trim().toLowerCase());
@@ -93,11 +152,19 @@ public abstract sealed class LibraryItem
     // Getters and Setters
 
     public String getId() {
+        return id != null ? id.toString() : null;
+    }
+
+    /**
+     * Returns the id in its compact form, without formatting it.
+     */
+    public ItemId getItemId() {
         return id;
     }
 
     public void setId(String id) {
-        this.id = id;
+        this.id = ItemId.parse(id);
+        changed();
     }
 
     public String getTitle() {
@@ -122,34 +189,69 @@ public abstract sealed class LibraryItem
         return category;
     }
 
+    /**
+     * Replaces this item's category with {@code shared} if both have the same
+     * id, so items loaded from storage reference one category instance
+     * instead of each holding a private copy. The item itself is unchanged.
+     */
+    public void shareCategory(Category shared) {
+        if (category != null && shared != null && category != shared && category.equals(shared)) {
+            category = shared;
+        }
+    }
+
     public void setCategory(Category category) {
         this.category = category;
         touch();
     }
 
     public Set<String> getTags() {
-        return new HashSet<>(tags);
+        return tags.names();
+    }
+
+    /**
+     * Returns the tags as dictionary ids, without copying.
+     */
+    public TagSet getTagSet() {
+        return tags;
     }
 
     public void setTags(Set<String> tags) {
-        this.tags = new HashSet<>(tags);
+        this.tags = TagSet.of(tags);
         touch();
     }
 
     public LocalDateTime getDateAdded() {
+        return Timestamps.decode(dateAdded);
+    }
+
+    /**
+     * Returns the date added in its {@link Timestamps} encoding, without
+     * creating a {@link LocalDateTime}.
+     */
+    public long getDateAddedTimestamp() {
         return dateAdded;
     }
 
     public void setDateAdded(LocalDateTime dateAdded) {
-        this.dateAdded = dateAdded;
+        this.dateAdded = Timestamps.encode(dateAdded);
+        changed();
     }
 
     public LocalDateTime getLastModified() {
+        return Timestamps.decode(lastModified);
+    }
+
+    /**
+     * Returns the last modification time in its {@link Timestamps} encoding.
+     */
+    public long getLastModifiedTimestamp() {
         return lastModified;
     }
 
     public void setLastModified(LocalDateTime lastModified) {
-        this.lastModified = lastModified;
+        this.lastModified = Timestamps.encode(lastModified);
+        changed();
     }
 
     public ItemType getItemType() {
@@ -158,6 +260,7 @@ public abstract sealed class LibraryItem
 
     public void setItemType(ItemType itemType) {
         this.itemType = itemType;
+        changed();
     }
 
     /**
@@ -167,7 +270,7 @@ public abstract sealed class LibraryItem
     public String getSearchableText() {
         var titleText = title != null ? title : "";
         var descText = description != null ? description : "";
-        var tagsText = String.join(" ", tags);
+        var tagsText = String.join(" ", tags.names());
         var categoryText = category != null ? category.getName() : "";
 
         // Java 25 String Template (when available)
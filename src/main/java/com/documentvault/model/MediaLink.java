@@ -63,6 +63,7 @@ public final class MediaLink extends LibraryItem {
 
     public void setDurationMinutes(int durationMinutes) {
         this.durationMinutes = durationMinutes;
+        changed();
     }
 
     public String getSource() {
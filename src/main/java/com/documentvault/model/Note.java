@@ -43,13 +43,9 @@ public final class Note extends LibraryItem {
     }
 
     /**
-     * Returns the content preview (first 100 characters).
+     * Returns the content preview (first 100 characters), cached per version.
      */
     public String getContentPreview() {
-        if (content == null || content.isEmpty()) {
-            return "Empty note";
-        }
-        String stripped = content.replaceAll("\\s+", " ").trim();
-        return stripped.length() > 100 ? stripped.substring(0, 97) + "..." : stripped;
+        return getDisplay().preview();
     }
 }
@@ -0,0 +1,50 @@
+package com.documentvault.model;
+
+import java.util.OptionalLong;
+
+/**
+ * Type-specific numeric fields that can be range-queried.
+ * Each field only exists on one item type; other items have no value.
+ */
+public enum NumericField {
+    PAGE_COUNT("pages", LibraryItem.ItemType.PDF),
+    FILE_SIZE("size", LibraryItem.ItemType.PDF),
+    DURATION_MINUTES("duration", LibraryItem.ItemType.MEDIA_LINK);
+
+    private final String keyword;
+    private final LibraryItem.ItemType itemType;
+
+    NumericField(String keyword, LibraryItem.ItemType itemType) {
+        this.keyword = keyword;
+        this.itemType = itemType;
+    }
+
+    /**
+     * Returns the field name used in the query language.
+     */
+    public String keyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the item type that carries this field.
+     */
+    public LibraryItem.ItemType itemType() {
+        return itemType;
+    }
+
+    /**
+     * Returns the field's value, or empty if the item does not have it.
+     * Java 25: Pattern matching over the sealed item hierarchy.
+     */
+    public OptionalLong valueOf(LibraryItem item) {
+        return switch (this) {
+            case PAGE_COUNT -> item instanceof PdfDocument pdf
+                    ? OptionalLong.of(pdf.getPageCount()) : OptionalLong.empty();
+            case FILE_SIZE -> item instanceof PdfDocument pdf
+                    ? OptionalLong.of(pdf.getFileSize()) : OptionalLong.empty();
+            case DURATION_MINUTES -> item instanceof MediaLink media
+                    ? OptionalLong.of(media.getDurationMinutes()) : OptionalLong.empty();
+        };
+    }
+}
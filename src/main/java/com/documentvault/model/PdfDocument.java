@@ -36,6 +36,7 @@ public final class PdfDocument extends LibraryItem {
 
     public void setFileSize(long fileSize) {
         this.fileSize = fileSize;
+        changed();
     }
 
     public int getPageCount() {
@@ -44,6 +45,7 @@ public final class PdfDocument extends LibraryItem {
 
     public void setPageCount(int pageCount) {
         this.pageCount = pageCount;
+        changed();
     }
 
     public String getAuthor() {
@@ -1,5 +1,8 @@
 package com.documentvault.model;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -11,7 +14,23 @@ public record SearchCriteria(
         String query,
         Category category,
         LibraryItem.ItemType type,
-        Set<String> tags) {
+        Set<String> tags,
+        List<NumericRange> ranges) {
+
+    /**
+     * Inclusive range predicate over a type-specific numeric field.
+     * A null bound leaves that side of the range open. Items that do not
+     * carry the field never match.
+     */
+    public record NumericRange(NumericField field, Long min, Long max) {
+
+        public boolean matches(LibraryItem item) {
+            var value = field.valueOf(item);
+            return value.isPresent()
+                    && (min == null || value.getAsLong() >= min)
+                    && (max == null || value.getAsLong() <= max);
+        }
+    }
 
     /**
      * Compact constructor with validation.
@@ -20,8 +39,16 @@ public record SearchCriteria(
         // Normalize query
         query = query != null ? query.trim().toLowerCase() : "";
 
-        // Ensure tags is not null
+        // Ensure tags and ranges are not null
         tags = tags != null ? Set.copyOf(tags) : Set.of();
+        ranges = ranges != null ? List.copyOf(ranges) : List.of();
+    }
+
+    /**
+     * Constructor for criteria without numeric ranges.
+     */
+    public SearchCriteria(String query, Category category, LibraryItem.ItemType type, Set<String> tags) {
+        this(query, category, type, tags, List.of());
     }
 
     /**
@@ -31,21 +58,71 @@ public record SearchCriteria(
         this(query, null, null, Set.of());
     }
 
+    /**
+     * Returns a copy of these criteria with an additional numeric range,
+     * e.g. {@code withRange(NumericField.DURATION_MINUTES, null, 29L)} for
+     * media under 30 minutes.
+     */
+    public SearchCriteria withRange(NumericField field, Long min, Long max) {
+        var newRanges = new ArrayList<>(ranges);
+        newRanges.add(new NumericRange(field, min, max));
+        return new SearchCriteria(query, category, type, tags, newRanges);
+    }
+
+    /**
+     * Returns true if these criteria match every item.
+     */
+    public boolean isEmpty() {
+        return query.isEmpty() && category == null && type == null && tags.isEmpty() && ranges.isEmpty();
+    }
+
+    /**
+     * Returns true if every item matching these criteria also matches
+     * {@code broader}: the filters are the same and this query text extends
+     * the broader one (e.g. {@code "java s"} refines {@code "java"}), since
+     * the text is matched as a substring.
+     */
+    public boolean isRefinementOf(SearchCriteria broader) {
+        return query.contains(broader.query)
+                && Objects.equals(category, broader.category)
+                && type == broader.type
+                && tags.equals(broader.tags)
+                && ranges.equals(broader.ranges);
+    }
+
     /**
      * Check if this criteria matches a library item.
      * Java 25: Enhanced pattern matching with sealed classes.
      */
     public boolean matches(LibraryItem item) {
+        return matches(item, tagIds());
+    }
+
+    /**
+     * Check if this criteria matches a library item, given the criteria
+     * tags already resolved by {@link #tagIds()}. Callers checking many
+     * items for one search resolve the tags once and pass them to each call.
+     */
+    public boolean matches(LibraryItem item, TagSet tagIds) {
         return matchesQuery(item) &&
                 matchesCategory(item) &&
                 matchesType(item) &&
-                matchesTags(item);
+                matchesTags(item, tagIds) &&
+                matchesRanges(item);
+    }
+
+    /**
+     * Resolves the criteria tags to dictionary ids. Tags no item has used
+     * yet are left out, so resolve again once items may have changed.
+     */
+    public TagSet tagIds() {
+        return tags.isEmpty() ? TagSet.EMPTY : TagSet.lookup(tags);
     }
 
     private boolean matchesQuery(LibraryItem item) {
         if (query.isEmpty())
             return true;
-        return item.getSearchableText().toLowerCase().contains(query);
+        return item.getFoldedText().contains(query);
     }
 
     private boolean matchesCategory(LibraryItem item) {
@@ -60,59 +137,32 @@ public record SearchCriteria(
         return type.equals(item.getItemType());
     }
 
-    private boolean matchesTags(LibraryItem item) {
+    private boolean matchesTags(LibraryItem item, TagSet tagIds) {
         if (tags.isEmpty())
             return true;
-        return item.getTags().stream().anyMatch(tags::contains);
+        return item.getTagSet().intersects(tagIds);
+    }
+
+    private boolean matchesRanges(LibraryItem item) {
+        for (NumericRange range : ranges) {
+            if (!range.matches(item)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns an enhanced description using instanceof and sealed classes.
-     * Java 25: Optimized with sealed class exhaustiveness checking.
+     * Returns the type icon of an item, cached per item version.
      */
     public String getItemTypeIcon(LibraryItem item) {
-        // Java 25: Exhaustive instanceof with sealed classes
-        if (item instanceof Note note) {
-            return note.isMarkdown() ? "📝✨" : "📝";
-        } else if (item instanceof PdfDocument pdf) {
-            return pdf.getPageCount() > 100 ? "📚" : "📄";
-        } else if (item instanceof MediaLink media) {
-            return media.getDurationMinutes() > 60 ? "🎬" : "🎵";
-        } else if (item instanceof TextSnippet) {
-            return "💻";
-        }
-        // Java 25: Sealed classes guarantee exhaustiveness
-        throw new AssertionError("Unknown LibraryItem type: " + item.getClass());
+        return item.getDisplay().icon();
     }
 
     /**
-     * Get enhanced item description with metadata.
-     * Java 25: Type-safe pattern matching with sealed classes.
+     * Get enhanced item description with metadata, cached per item version.
      */
     public String getEnhancedDescription(LibraryItem item) {
-        if (item instanceof Note note) {
-            if (note.getContent() != null && note.getContent().length() > 1000) {
-                return "Long note (" + note.getContentPreview() + ")";
-            }
-            return "Note: " + note.getContentPreview();
-        } else if (item instanceof PdfDocument pdf) {
-            if (pdf.getPageCount() > 0) {
-                return "PDF: " + pdf.getFileName() + " (" + pdf.getPageCount() + " pages)";
-            }
-            return "PDF: " + pdf.getFileName();
-        } else if (item instanceof MediaLink media) {
-            if (media.getDurationMinutes() > 0) {
-                return "Media: " + media.getMediaType().getDisplayName() +
-                        " (" + media.getDurationFormatted() + ")";
-            }
-            return "Media: " + media.getMediaType().getDisplayName();
-        } else if (item instanceof TextSnippet snippet) {
-            if (snippet.getLanguage() != null && !snippet.getLanguage().equals("text")) {
-                return "Snippet (" + snippet.getLanguage() + "): " + snippet.getContentPreview();
-            }
-            return "Snippet: " + snippet.getContentPreview();
-        }
-        // Java 25: Sealed classes guarantee this is unreachable
-        throw new AssertionError("Unknown LibraryItem type: " + item.getClass());
+        return item.getDisplay().description();
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.documentvault.model;
+
+/**
+ * Orders in which the library can hand out search results, each backed by
+ * a sorted index so that sorting never compares whole result sets.
+ */
+public enum SortField {
+    TITLE(null),
+    CREATED(DateField.CREATED),
+    MODIFIED(DateField.MODIFIED);
+
+    private final DateField dateField;
+
+    SortField(DateField dateField) {
+        this.dateField = dateField;
+    }
+
+    /**
+     * Returns the timestamp this order sorts by, or null for {@link #TITLE}.
+     */
+    public DateField dateField() {
+        return dateField;
+    }
+
+    public static SortField of(DateField field) {
+        return field == DateField.CREATED ? CREATED : MODIFIED;
+    }
+}
@@ -0,0 +1,67 @@
+package com.documentvault.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary of tag names.
+ * Each distinct tag string is interned once and given a dense integer id,
+ * so items can store their tags as small sorted id arrays and tag checks
+ * become integer comparisons instead of string hashing. Ids are never
+ * reused; how many items currently use a tag is tracked by the library
+ * index, not here.
+ */
+public final class TagDictionary {
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[64];
+    private static int size;
+
+    private TagDictionary() {
+    }
+
+    /**
+     * Returns the id of a tag, assigning a new one if it is unknown.
+     */
+    public static int intern(String tag) {
+        Integer id = ids.get(tag);
+        if (id != null) {
+            return id;
+        }
+        synchronized (TagDictionary.class) {
+            id = ids.get(tag);
+            if (id != null) {
+                return id;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            // Publish the name before the id becomes visible to readers
+            names[size] = tag;
+            ids.put(tag, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the id of a tag, or -1 if it has never been interned.
+     */
+    public static int lookup(String tag) {
+        return tag != null ? ids.getOrDefault(tag, -1) : -1;
+    }
+
+    /**
+     * Returns the tag name for an id.
+     */
+    public static String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Returns the number of interned tags; every id is below this value.
+     */
+    public static int size() {
+        return ids.size();
+    }
+}
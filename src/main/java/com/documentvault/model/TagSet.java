@@ -0,0 +1,170 @@
+package com.documentvault.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of tags stored as a sorted array of {@link TagDictionary}
+ * ids. Membership is a binary search over a handful of ints and set
+ * intersection is a linear merge, with no per-check string hashing or
+ * copying.
+ */
+public final class TagSet {
+
+    public static final TagSet EMPTY = new TagSet(new int[0]);
+
+    private final int[] ids;
+
+    private TagSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Creates a tag set, interning every tag.
+     */
+    public static TagSet of(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return EMPTY;
+        }
+        int[] ids = tags.stream()
+                .filter(tag -> tag != null)
+                .mapToInt(TagDictionary::intern)
+                .sorted()
+                .distinct()
+                .toArray();
+        return ids.length == 0 ? EMPTY : new TagSet(ids);
+    }
+
+    /**
+     * Creates a tag set of the given tags that are already known; unknown
+     * tags cannot be carried by any item, so they are dropped.
+     */
+    public static TagSet lookup(Collection<String> tags) {
+        int[] ids = tags.stream()
+                .mapToInt(TagDictionary::lookup)
+                .filter(id -> id >= 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        return ids.length == 0 ? EMPTY : new TagSet(ids);
+    }
+
+    public TagSet with(String tag) {
+        int id = TagDictionary.intern(tag);
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return this;
+        }
+        int insert = -position - 1;
+        int[] grown = new int[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, insert);
+        grown[insert] = id;
+        System.arraycopy(ids, insert, grown, insert + 1, ids.length - insert);
+        return new TagSet(grown);
+    }
+
+    public TagSet without(String tag) {
+        int position = Arrays.binarySearch(ids, TagDictionary.lookup(tag));
+        if (position < 0) {
+            return this;
+        }
+        if (ids.length == 1) {
+            return EMPTY;
+        }
+        int[] shrunk = new int[ids.length - 1];
+        System.arraycopy(ids, 0, shrunk, 0, position);
+        System.arraycopy(ids, position + 1, shrunk, position, ids.length - position - 1);
+        return new TagSet(shrunk);
+    }
+
+    public boolean contains(String tag) {
+        return containsId(TagDictionary.lookup(tag));
+    }
+
+    public boolean containsId(int id) {
+        return id >= 0 && Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * Returns true if this set shares at least one tag with the other set.
+     */
+    public boolean intersects(TagSet other) {
+        int i = 0;
+        int j = 0;
+        while (i < ids.length && j < other.ids.length) {
+            if (ids[i] == other.ids[j]) {
+                return true;
+            }
+            if (ids[i] < other.ids[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if any of this set's tag ids is set in the bitset.
+     */
+    public boolean intersects(BitSet tagIds) {
+        for (int id : ids) {
+            if (tagIds.get(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BitSet toBitSet() {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    public void forEachId(IntConsumer action) {
+        for (int id : ids) {
+            action.accept(id);
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * Returns the tag names as a new mutable set.
+     */
+    public Set<String> names() {
+        Set<String> names = new HashSet<>(ids.length * 2);
+        for (int id : ids) {
+            names.add(TagDictionary.name(id));
+        }
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof TagSet other && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return names().toString();
+    }
+}
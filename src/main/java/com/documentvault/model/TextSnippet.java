@@ -45,24 +45,17 @@ public final class TextSnippet extends LibraryItem {
     }
 
     /**
-     * Returns the content preview (first 100 characters).
+     * Returns the content preview (first 100 characters), cached per version.
      */
     public String getContentPreview() {
-        if (content == null || content.isEmpty()) {
-            return "Empty snippet";
-        }
-        String stripped = content.replaceAll("\\s+", " ").trim();
-        return stripped.length() > 100 ? stripped.substring(0, 97) + "..." : stripped;
+        return getDisplay().preview();
     }
 
     /**
      * Returns the line count of the content.
      */
     public int getLineCount() {
-        if (content == null || content.isEmpty()) {
-            return 0;
-        }
-        return content.split("\n").length;
+        return getDisplay().lineCount();
     }
 
     @Override
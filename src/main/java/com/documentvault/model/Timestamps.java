@@ -0,0 +1,91 @@
+package com.documentvault.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Encodes local date-times as a single long so items need not hold
+ * {@link LocalDateTime} objects, which take three objects each.
+ * The value counts nanoseconds from 1970-01-01T00:00 on the local time-line,
+ * with no time zone involved, so it keeps full precision and orders the same
+ * way as the date-times. It covers the years 1677 to 2262; date-times
+ * outside them are clamped to the first or last one covered, so they still
+ * sort before or after every other value.
+ */
+public final class Timestamps {
+
+    /**
+     * Encoded form of a missing date-time.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // NONE itself is not a date-time
+    private static final LocalDateTime EARLIEST = decode(NONE + 1);
+    private static final LocalDateTime LATEST = decode(Long.MAX_VALUE);
+
+    private Timestamps() {
+    }
+
+    /**
+     * Encodes a date-time, or returns {@link #NONE} for null. Date-times
+     * outside the covered years are clamped.
+     */
+    public static long encode(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        if (dateTime.isBefore(EARLIEST)) {
+            return NONE + 1;
+        }
+        if (dateTime.isAfter(LATEST)) {
+            return Long.MAX_VALUE;
+        }
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return seconds * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    /**
+     * Decodes a value from {@link #encode(LocalDateTime)}.
+     */
+    public static LocalDateTime decode(long value) {
+        if (value == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, NANOS_PER_SECOND),
+                (int) Math.floorMod(value, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Stores an encoded field as an ISO local date-time string, the same as
+     * a {@link LocalDateTime} field is stored.
+     */
+    static final class GsonAdapter extends TypeAdapter<Long> {
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        @Override
+        public void write(JsonWriter out, Long value) throws IOException {
+            if (value == null || value == NONE) {
+                out.nullValue();
+            } else {
+                out.value(decode(value).format(FORMATTER));
+            }
+        }
+
+        @Override
+        public Long read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return NONE;
+            }
+            return encode(LocalDateTime.parse(in.nextString(), FORMATTER));
+        }
+    }
+}
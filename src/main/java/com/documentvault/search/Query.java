@@ -0,0 +1,324 @@
+package com.documentvault.search;
+
+import com.documentvault.model.DateField;
+import com.documentvault.model.FacetField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.NumericField;
+import com.documentvault.model.SearchCriteria;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Abstract syntax tree of a library search query.
+ * Produced by {@link QueryParser} or converted from {@link SearchCriteria},
+ * and executed through a {@link QueryPlan}. Every node can evaluate itself
+ * against a single item, which the planner uses for residual predicates that
+ * no index can answer exactly.
+ *
+ * Java 25: Sealed interface of records for exhaustive pattern matching.
+ */
+public sealed interface Query {
+
+    /**
+     * Evaluates this query against a single item.
+     */
+    boolean matches(LibraryItem item);
+
+    /**
+     * Matches every item.
+     */
+    record All() implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "*";
+        }
+    }
+
+    /**
+     * Matches items that match all clauses.
+     */
+    record And(List<Query> clauses) implements Query {
+        public And {
+            clauses = List.copyOf(clauses);
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            return clauses.stream().allMatch(clause -> clause.matches(item));
+        }
+
+        @Override
+        public String toString() {
+            return clauses.stream().map(Query::group).collect(Collectors.joining(" AND "));
+        }
+    }
+
+    /**
+     * Matches items that match at least one clause.
+     */
+    record Or(List<Query> clauses) implements Query {
+        public Or {
+            clauses = List.copyOf(clauses);
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            return clauses.stream().anyMatch(clause -> clause.matches(item));
+        }
+
+        @Override
+        public String toString() {
+            return clauses.stream().map(Query::group).collect(Collectors.joining(" OR "));
+        }
+    }
+
+    /**
+     * Matches items that do not match the clause.
+     */
+    record Not(Query clause) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return !clause.matches(item);
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + group(clause);
+        }
+    }
+
+    /**
+     * Substring match over the item's searchable text.
+     */
+    record Text(String term) implements Query {
+        public Text {
+            term = term.toLowerCase();
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            return item.getFoldedText().contains(term);
+        }
+
+        @Override
+        public String toString() {
+            return quote(term);
+        }
+    }
+
+    /**
+     * Substring match over the item's title only.
+     */
+    record TitleContains(String term) implements Query {
+        public TitleContains {
+            term = term.toLowerCase();
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            return item.getTitle() != null && item.getTitle().toLowerCase().contains(term);
+        }
+
+        @Override
+        public String toString() {
+            return "title:" + quote(term);
+        }
+    }
+
+    /**
+     * Exact match on the item type.
+     */
+    record TypeIs(LibraryItem.ItemType type) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return type == item.getItemType();
+        }
+
+        @Override
+        public String toString() {
+            return "type:" + type.name().toLowerCase();
+        }
+    }
+
+    /**
+     * Exact match on a tag.
+     */
+    record TagIs(String tag) implements Query {
+        public TagIs {
+            tag = tag.trim().toLowerCase();
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            return item.hasTag(tag);
+        }
+
+        @Override
+        public String toString() {
+            return "tag:" + quote(tag);
+        }
+    }
+
+    /**
+     * Exact match on a category by id.
+     */
+    record CategoryIs(String categoryId) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return item.getCategory() != null && categoryId.equals(item.getCategory().getId());
+        }
+
+        @Override
+        public String toString() {
+            return "category#" + categoryId;
+        }
+    }
+
+    /**
+     * Match on a category by name, ignoring case.
+     */
+    record CategoryNamed(String name) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return item.getCategory() != null && name.equalsIgnoreCase(item.getCategory().getName());
+        }
+
+        @Override
+        public String toString() {
+            return "category:" + quote(name);
+        }
+    }
+
+    /**
+     * Exact match on a type-specific facet, ignoring case.
+     */
+    record FacetIs(FacetField field, String value) implements Query {
+        public FacetIs {
+            value = value.trim();
+        }
+
+        @Override
+        public boolean matches(LibraryItem item) {
+            String actual = field.valueOf(item);
+            return actual != null && actual.equalsIgnoreCase(value);
+        }
+
+        @Override
+        public String toString() {
+            return field.keyword() + ":" + quote(value);
+        }
+    }
+
+    /**
+     * Inclusive day range over one of the item's timestamps.
+     * A null bound leaves that side of the range open.
+     */
+    record DateRange(DateField field, LocalDate from, LocalDate to) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            LocalDateTime value = field.valueOf(item);
+            if (value == null) {
+                return false;
+            }
+            return (from == null || !value.isBefore(start()))
+                    && (to == null || value.isBefore(end()));
+        }
+
+        /**
+         * Returns the inclusive lower bound as a timestamp, or null if open.
+         */
+        public LocalDateTime start() {
+            return from != null ? from.atStartOfDay() : null;
+        }
+
+        /**
+         * Returns the exclusive upper bound as a timestamp, or null if open.
+         */
+        public LocalDateTime end() {
+            return to != null ? to.plusDays(1).atStartOfDay() : null;
+        }
+
+        @Override
+        public String toString() {
+            return field.keyword() + ":" + (from != null ? from : "") + ".." + (to != null ? to : "");
+        }
+    }
+
+    /**
+     * Inclusive range over a type-specific numeric field.
+     * A null bound leaves that side of the range open.
+     */
+    record NumericRange(NumericField field, Long min, Long max) implements Query {
+        @Override
+        public boolean matches(LibraryItem item) {
+            return new SearchCriteria.NumericRange(field, min, max).matches(item);
+        }
+
+        @Override
+        public String toString() {
+            return field.keyword() + ":" + (min != null ? min : "") + ".." + (max != null ? max : "");
+        }
+    }
+
+    /**
+     * Converts search criteria into the equivalent query.
+     * The criteria's tag set matches items carrying any of the tags.
+     */
+    static Query of(SearchCriteria criteria) {
+        List<Query> clauses = new ArrayList<>();
+        if (!criteria.query().isEmpty()) {
+            clauses.add(new Text(criteria.query()));
+        }
+        if (criteria.category() != null) {
+            clauses.add(new CategoryIs(criteria.category().getId()));
+        }
+        if (criteria.type() != null) {
+            clauses.add(new TypeIs(criteria.type()));
+        }
+        if (!criteria.tags().isEmpty()) {
+            clauses.add(or(criteria.tags().stream().sorted().<Query>map(TagIs::new).toList()));
+        }
+        for (SearchCriteria.NumericRange range : criteria.ranges()) {
+            clauses.add(new NumericRange(range.field(), range.min(), range.max()));
+        }
+        return and(clauses);
+    }
+
+    /**
+     * Builds a conjunction, collapsing trivial cases.
+     */
+    static Query and(List<Query> clauses) {
+        return switch (clauses.size()) {
+            case 0 -> new All();
+            case 1 -> clauses.get(0);
+            default -> new And(clauses);
+        };
+    }
+
+    /**
+     * Builds a disjunction, collapsing trivial cases.
+     */
+    static Query or(List<Query> clauses) {
+        return switch (clauses.size()) {
+            case 0 -> new All();
+            case 1 -> clauses.get(0);
+            default -> new Or(clauses);
+        };
+    }
+
+    private static String group(Query query) {
+        return query instanceof And || query instanceof Or ? "(" + query + ")" : query.toString();
+    }
+
+    private static String quote(String value) {
+        return value.chars().anyMatch(Character::isWhitespace) ? "\"" + value + "\"" : value;
+    }
+}
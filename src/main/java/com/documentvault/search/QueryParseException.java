@@ -0,0 +1,21 @@
+package com.documentvault.search;
+
+/**
+ * Thrown when a search query cannot be parsed.
+ * Carries the character offset at which parsing failed.
+ */
+public class QueryParseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int position;
+
+    public QueryParseException(String message, int position) {
+        super(message + " at position " + position);
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
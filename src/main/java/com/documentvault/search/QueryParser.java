@@ -0,0 +1,268 @@
+package com.documentvault.search;
+
+import com.documentvault.model.DateField;
+import com.documentvault.model.FacetField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.NumericField;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for the library query language.
+ *
+ * <pre>
+ * query   := or
+ * or      := and ("OR" and)*
+ * and     := unary (["AND"] unary)*
+ * unary   := ("NOT" | "-") unary | "(" or ")" | term
+ * term    := field ":" value | word | "quoted phrase"
+ * </pre>
+ *
+ * Supported fields are {@code title:}, {@code category:}, {@code type:},
+ * {@code tag:}, {@code created:} and {@code modified:}. Date fields accept a
+ * single day ({@code created:2025-03-01}) or an inclusive range with
+ * optionally open ends ({@code created:2025-01-01..2025-12-31},
+ * {@code modified:2025-06-01..}). The numeric fields {@code pages:},
+ * {@code size:} and {@code duration:} take a number or an inclusive range
+ * ({@code duration:..29}, {@code size:1mb..}); sizes accept kb/mb/gb
+ * suffixes. The facets {@code author:}, {@code source:}, {@code media:} and
+ * {@code language:} (or {@code lang:}) match exactly, ignoring case.
+ * Operators must be upper case; bare words and phrases are
+ * substring matches over the searchable text.
+ */
+public final class QueryParser {
+
+    private final String input;
+    private int pos;
+
+    private QueryParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * Parses a query string. A blank query matches every item.
+     *
+     * @throws QueryParseException if the query is malformed
+     */
+    public static Query parse(String input) {
+        if (input == null || input.isBlank()) {
+            return new Query.All();
+        }
+        QueryParser parser = new QueryParser(input);
+        Query query = parser.parseOr();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new QueryParseException("Unexpected '" + parser.peek() + "'", parser.pos);
+        }
+        return query;
+    }
+
+    private Query parseOr() {
+        List<Query> clauses = new ArrayList<>();
+        clauses.add(parseAnd());
+        while (acceptKeyword("OR")) {
+            clauses.add(parseAnd());
+        }
+        return Query.or(clauses);
+    }
+
+    private Query parseAnd() {
+        List<Query> clauses = new ArrayList<>();
+        clauses.add(parseUnary());
+        while (true) {
+            skipWhitespace();
+            if (atEnd() || peek() == ')' || peekKeyword("OR")) {
+                break;
+            }
+            acceptKeyword("AND");
+            clauses.add(parseUnary());
+        }
+        return Query.and(clauses);
+    }
+
+    private Query parseUnary() {
+        skipWhitespace();
+        if (atEnd()) {
+            throw new QueryParseException("Unexpected end of query", pos);
+        }
+        if (acceptKeyword("NOT")) {
+            return new Query.Not(parseUnary());
+        }
+        if (peek() == '-') {
+            pos++;
+            return new Query.Not(parseUnary());
+        }
+        if (peek() == '(') {
+            int open = pos++;
+            Query inner = parseOr();
+            skipWhitespace();
+            if (atEnd() || peek() != ')') {
+                throw new QueryParseException("Unclosed parenthesis", open);
+            }
+            pos++;
+            return inner;
+        }
+        return parseTerm();
+    }
+
+    private Query parseTerm() {
+        int start = pos;
+        if (peek() == '"') {
+            return new Query.Text(readQuoted());
+        }
+        String word = readWord();
+        int colon = word.indexOf(':');
+        if (colon > 0) {
+            String field = word.substring(0, colon).toLowerCase();
+            String value = word.substring(colon + 1);
+            if (value.isEmpty() && !atEnd() && peek() == '"') {
+                value = readQuoted();
+            }
+            if (value.isEmpty()) {
+                throw new QueryParseException("Missing value for field '" + field + "'", start);
+            }
+            return switch (field) {
+                case "title" -> new Query.TitleContains(value);
+                case "category" -> new Query.CategoryNamed(value);
+                case "tag" -> new Query.TagIs(value);
+                case "type" -> new Query.TypeIs(parseType(value, start));
+                case "created" -> parseDateRange(DateField.CREATED, value, start);
+                case "modified" -> parseDateRange(DateField.MODIFIED, value, start);
+                case "pages" -> parseNumericRange(NumericField.PAGE_COUNT, value, start);
+                case "size" -> parseNumericRange(NumericField.FILE_SIZE, value, start);
+                case "duration" -> parseNumericRange(NumericField.DURATION_MINUTES, value, start);
+                case "author" -> new Query.FacetIs(FacetField.AUTHOR, value);
+                case "source" -> new Query.FacetIs(FacetField.SOURCE, value);
+                case "media" -> new Query.FacetIs(FacetField.MEDIA_TYPE, value);
+                case "language", "lang" -> new Query.FacetIs(FacetField.LANGUAGE, value);
+                default -> new Query.Text(word);
+            };
+        }
+        return new Query.Text(word);
+    }
+
+    private static LibraryItem.ItemType parseType(String value, int position) {
+        return switch (value.toLowerCase()) {
+            case "note", "notes" -> LibraryItem.ItemType.NOTE;
+            case "pdf", "pdfs" -> LibraryItem.ItemType.PDF;
+            case "media", "media_link", "link" -> LibraryItem.ItemType.MEDIA_LINK;
+            case "snippet", "snippets", "text_snippet" -> LibraryItem.ItemType.TEXT_SNIPPET;
+            default -> throw new QueryParseException("Unknown item type '" + value + "'", position);
+        };
+    }
+
+    private static Query parseDateRange(DateField field, String value, int position) {
+        try {
+            int dots = value.indexOf("..");
+            if (dots < 0) {
+                LocalDate day = LocalDate.parse(value);
+                return new Query.DateRange(field, day, day);
+            }
+            String from = value.substring(0, dots);
+            String to = value.substring(dots + 2);
+            if (from.isEmpty() && to.isEmpty()) {
+                throw new QueryParseException("Date range needs at least one bound", position);
+            }
+            return new Query.DateRange(field,
+                    from.isEmpty() ? null : LocalDate.parse(from),
+                    to.isEmpty() ? null : LocalDate.parse(to));
+        } catch (DateTimeParseException e) {
+            throw new QueryParseException("Invalid date '" + value + "'", position);
+        }
+    }
+
+    private static Query parseNumericRange(NumericField field, String value, int position) {
+        int dots = value.indexOf("..");
+        if (dots < 0) {
+            long exact = parseNumber(value, position);
+            return new Query.NumericRange(field, exact, exact);
+        }
+        String min = value.substring(0, dots);
+        String max = value.substring(dots + 2);
+        if (min.isEmpty() && max.isEmpty()) {
+            throw new QueryParseException("Numeric range needs at least one bound", position);
+        }
+        return new Query.NumericRange(field,
+                min.isEmpty() ? null : parseNumber(min, position),
+                max.isEmpty() ? null : parseNumber(max, position));
+    }
+
+    private static long parseNumber(String value, int position) {
+        String number = value.toLowerCase();
+        long multiplier = 1;
+        if (number.endsWith("kb")) {
+            multiplier = 1024L;
+        } else if (number.endsWith("mb")) {
+            multiplier = 1024L * 1024;
+        } else if (number.endsWith("gb")) {
+            multiplier = 1024L * 1024 * 1024;
+        }
+        if (multiplier > 1) {
+            number = number.substring(0, number.length() - 2);
+        }
+        try {
+            return Math.multiplyExact(Long.parseLong(number), multiplier);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new QueryParseException("Invalid number '" + value + "'", position);
+        }
+    }
+
+    // Lexing helpers
+
+    private String readQuoted() {
+        int open = pos++;
+        int close = input.indexOf('"', pos);
+        if (close < 0) {
+            throw new QueryParseException("Unclosed quote", open);
+        }
+        String phrase = input.substring(pos, close);
+        pos = close + 1;
+        if (phrase.isBlank()) {
+            throw new QueryParseException("Empty phrase", open);
+        }
+        return phrase;
+    }
+
+    private String readWord() {
+        int start = pos;
+        while (!atEnd() && !Character.isWhitespace(peek())
+                && peek() != '(' && peek() != ')' && peek() != '"') {
+            pos++;
+        }
+        if (pos == start) {
+            throw new QueryParseException("Unexpected '" + peek() + "'", pos);
+        }
+        return input.substring(start, pos);
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        skipWhitespace();
+        if (peekKeyword(keyword)) {
+            pos += keyword.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean peekKeyword(String keyword) {
+        int end = pos + keyword.length();
+        return input.startsWith(keyword, pos)
+                && (end == input.length() || Character.isWhitespace(input.charAt(end)) || input.charAt(end) == '(');
+    }
+
+    private void skipWhitespace() {
+        while (!atEnd() && Character.isWhitespace(peek())) {
+            pos++;
+        }
+    }
+
+    private boolean atEnd() {
+        return pos >= input.length();
+    }
+
+    private char peek() {
+        return input.charAt(pos);
+    }
+}
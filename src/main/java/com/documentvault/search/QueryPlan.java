@@ -0,0 +1,120 @@
+package com.documentvault.search;
+
+import com.documentvault.index.CompressedBitmap;
+import com.documentvault.index.LibraryIndex;
+import com.documentvault.model.LibraryItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Execution plan produced by {@link QueryPlanner}.
+ * The plan drives from the most selective index, intersects the remaining
+ * index-backed predicates, and evaluates residual predicates against the
+ * surviving candidates only.
+ */
+public final class QueryPlan {
+
+    private final Query query;
+    private final LibraryIndex index;
+    private final Step drive;
+    private final List<Step> intersections;
+    private final List<Query> residuals;
+
+    /**
+     * One index-backed step of a plan.
+     *
+     * @param description  human readable access path
+     * @param estimatedRows estimated number of rows the step produces
+     * @param exact        whether the postings match the predicate exactly
+     * @param postings     supplies the step's ordinals; must not be modified
+     */
+    public record Step(
+            String description,
+            int estimatedRows,
+            boolean exact,
+            Supplier<CompressedBitmap> postings) {
+    }
+
+    QueryPlan(Query query, LibraryIndex index, Step drive, List<Step> intersections, List<Query> residuals) {
+        this.query = query;
+        this.index = index;
+        this.drive = drive;
+        this.intersections = List.copyOf(intersections);
+        this.residuals = List.copyOf(residuals);
+    }
+
+    public Query getQuery() {
+        return query;
+    }
+
+    public Step getDrive() {
+        return drive;
+    }
+
+    public List<Step> getIntersections() {
+        return intersections;
+    }
+
+    public List<Query> getResiduals() {
+        return residuals;
+    }
+
+    /**
+     * Executes the plan and returns the ordinals of all matching items.
+     */
+    public CompressedBitmap executeOrdinals() {
+        CompressedBitmap result = drive.postings().get().copy();
+        for (Step step : intersections) {
+            if (result.isEmpty()) {
+                return result;
+            }
+            result.and(step.postings().get());
+        }
+        if (!residuals.isEmpty()) {
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                LibraryItem item = index.item(i);
+                for (Query residual : residuals) {
+                    if (!residual.matches(item)) {
+                        result.remove(i);
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executes the plan and returns the matching items in ordinal order.
+     */
+    public List<LibraryItem> execute() {
+        return index.materialize(executeOrdinals());
+    }
+
+    /**
+     * Describes the chosen plan, one step per line.
+     */
+    public String explain() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Query:     " + query);
+        lines.add("Drive:     " + describe(drive));
+        for (Step step : intersections) {
+            lines.add("Intersect: " + describe(step));
+        }
+        for (Query residual : residuals) {
+            lines.add("Residual:  " + residual);
+        }
+        return String.join("\n", lines);
+    }
+
+    private static String describe(Step step) {
+        return step.description() + " (" + (step.exact() ? "exact" : "candidates")
+                + ", ~" + step.estimatedRows() + " rows)";
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,176 @@
+package com.documentvault.search;
+
+import com.documentvault.index.CompressedBitmap;
+import com.documentvault.index.LibraryIndex;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiles a {@link Query} into a {@link QueryPlan} against a
+ * {@link LibraryIndex}.
+ *
+ * The top-level conjunction is split into clauses. Each clause that an index
+ * can answer becomes a step with an estimated row count; the cheapest step
+ * drives the plan and the others are intersected in ascending cost order.
+ * Clauses without an exact index (short substrings, negated text) are kept
+ * as residual predicates and evaluated only on the surviving candidates.
+ */
+public class QueryPlanner {
+
+    private final LibraryIndex index;
+
+    public QueryPlanner(LibraryIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Plans the given query.
+     */
+    public QueryPlan plan(Query query) {
+        List<Query> clauses = query instanceof Query.And and ? and.clauses() : List.of(query);
+
+        List<QueryPlan.Step> steps = new ArrayList<>();
+        List<Query> residuals = new ArrayList<>();
+        for (Query clause : clauses) {
+            if (clause instanceof Query.All) {
+                continue;
+            }
+            QueryPlan.Step step = accessPath(clause);
+            if (step != null) {
+                steps.add(step);
+            }
+            if (step == null || !step.exact()) {
+                residuals.add(clause);
+            }
+        }
+
+        steps.sort(Comparator.comparingInt(QueryPlan.Step::estimatedRows));
+        QueryPlan.Step drive = steps.isEmpty() ? fullScan() : steps.remove(0);
+        return new QueryPlan(query, index, drive, steps, residuals);
+    }
+
+    /**
+     * Plans a query whose matches are known to lie within {@code candidates},
+     * typically the results of a broader earlier query. The candidates drive
+     * the plan and the whole query is checked on each of them, so the cost
+     * depends on the candidate count rather than the library size.
+     */
+    public QueryPlan refine(Query query, CompressedBitmap candidates) {
+        QueryPlan.Step drive = new QueryPlan.Step("previous results", candidates.cardinality(), false,
+                () -> candidates);
+        return new QueryPlan(query, index, drive, List.of(), List.of(query));
+    }
+
+    private QueryPlan.Step fullScan() {
+        return new QueryPlan.Step("full scan", index.size(), true, index::all);
+    }
+
+    /**
+     * Returns the index access path for a clause, or null if it has none.
+     */
+    private QueryPlan.Step accessPath(Query clause) {
+        return switch (clause) {
+            case Query.All all -> fullScan();
+            case Query.TypeIs typeIs -> {
+                CompressedBitmap postings = index.type(typeIs.type());
+                yield new QueryPlan.Step("type index " + typeIs, postings.cardinality(), true, () -> postings);
+            }
+            case Query.TagIs tagIs -> {
+                CompressedBitmap postings = index.tag(tagIs.tag());
+                yield new QueryPlan.Step("tag index " + tagIs, postings.cardinality(), true, () -> postings);
+            }
+            case Query.CategoryIs categoryIs -> {
+                CompressedBitmap postings = index.category(categoryIs.categoryId());
+                yield new QueryPlan.Step("category index " + categoryIs, postings.cardinality(), true,
+                        () -> postings);
+            }
+            case Query.CategoryNamed named -> {
+                CompressedBitmap postings = new CompressedBitmap();
+                for (String id : index.categoryIdsNamed(named.name())) {
+                    postings.or(index.category(id));
+                }
+                yield new QueryPlan.Step("category index " + named, postings.cardinality(), true, () -> postings);
+            }
+            case Query.FacetIs facetIs -> {
+                CompressedBitmap postings = index.facet(facetIs.field(), facetIs.value());
+                yield new QueryPlan.Step("facet index " + facetIs, postings.cardinality(), true, () -> postings);
+            }
+            case Query.Text text -> textPath(text.term(), text);
+            case Query.TitleContains title -> textPath(title.term(), title);
+            case Query.DateRange range -> {
+                CompressedBitmap postings = index.dateRange(range.field(), range.start(), range.end());
+                yield new QueryPlan.Step("date index " + range, postings.cardinality(), true, () -> postings);
+            }
+            case Query.NumericRange range -> {
+                CompressedBitmap postings = index.numericRange(range.field(), range.min(), range.max());
+                yield new QueryPlan.Step("numeric index " + range, postings.cardinality(), true, () -> postings);
+            }
+            case Query.And and -> combine(and.clauses(), true);
+            case Query.Or or -> combine(or.clauses(), false);
+            case Query.Not not -> {
+                QueryPlan.Step inner = accessPath(not.clause());
+                if (inner == null || !inner.exact()) {
+                    yield null;
+                }
+                yield new QueryPlan.Step("complement of " + inner.description(),
+                        Math.max(0, index.size() - inner.estimatedRows()), true, () -> {
+                            CompressedBitmap postings = index.all().copy();
+                            postings.andNot(inner.postings().get());
+                            return postings;
+                        });
+            }
+        };
+    }
+
+    private QueryPlan.Step textPath(String term, Query clause) {
+        if (!LibraryIndex.isTrigramSearchable(term)) {
+            return null;
+        }
+        return new QueryPlan.Step("trigram postings for " + clause, index.estimateText(term), false,
+                () -> index.textCandidates(term));
+    }
+
+    /**
+     * Combines the access paths of nested AND / OR clauses.
+     * A nested AND can use whichever children have paths (yielding candidates
+     * if any child is missing); a nested OR needs a path for every child.
+     */
+    private QueryPlan.Step combine(List<Query> children, boolean intersect) {
+        List<QueryPlan.Step> childSteps = new ArrayList<>();
+        boolean exact = true;
+        for (Query child : children) {
+            QueryPlan.Step step = accessPath(child);
+            if (step == null) {
+                if (!intersect) {
+                    return null;
+                }
+                exact = false;
+                continue;
+            }
+            exact &= step.exact();
+            childSteps.add(step);
+        }
+        if (childSteps.isEmpty()) {
+            return null;
+        }
+
+        int estimate = intersect
+                ? childSteps.stream().mapToInt(QueryPlan.Step::estimatedRows).min().orElse(0)
+                : (int) Math.min(index.size(),
+                        childSteps.stream().mapToLong(QueryPlan.Step::estimatedRows).sum());
+        String description = childSteps.stream().map(QueryPlan.Step::description)
+                .reduce((a, b) -> a + (intersect ? " & " : " | ") + b).orElse("");
+        return new QueryPlan.Step("(" + description + ")", estimate, exact, () -> {
+            CompressedBitmap postings = childSteps.get(0).postings().get().copy();
+            for (int i = 1; i < childSteps.size(); i++) {
+                if (intersect) {
+                    postings.and(childSteps.get(i).postings().get());
+                } else {
+                    postings.or(childSteps.get(i).postings().get());
+                }
+            }
+            return postings;
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.documentvault.service;
+
+import com.documentvault.model.LibraryItem;
+import java.util.Set;
+
+/**
+ * Change published by {@link LibraryService} after a mutation has been
+ * applied, indexed and saved. Listeners can patch their own state from the
+ * event instead of reloading the library.
+ *
+ * Java 25: Sealed interface of records for exhaustive pattern matching.
+ */
+public sealed interface LibraryEvent {
+
+    /**
+     * A new item was added.
+     */
+    record ItemAdded(LibraryItem item) implements LibraryEvent {
+    }
+
+    /**
+     * An existing item was changed; its last modified time has been bumped.
+     */
+    record ItemUpdated(LibraryItem item) implements LibraryEvent {
+    }
+
+    /**
+     * An item was deleted. Its ordinal is not given to another item until
+     * the library is reloaded, so views can drop it when they get to it.
+     */
+    record ItemRemoved(String itemId, int ordinal) implements LibraryEvent {
+    }
+
+    /**
+     * A category was added, renamed or deleted. Look it up with
+     * {@link LibraryService#getCategoryById(String)} to tell which.
+     */
+    record CategoryChanged(String categoryId) implements LibraryEvent {
+    }
+
+    /**
+     * Several items were changed by one operation, e.g. deleting a category
+     * clears it from every item that used it.
+     */
+    record BulkChange(Set<String> itemIds) implements LibraryEvent {
+        public BulkChange {
+            itemIds = Set.copyOf(itemIds);
+        }
+    }
+
+    /**
+     * A background load has made more of the library available. Sent at a
+     * bounded rate while loading and once more with {@code finished} set.
+     */
+    record LoadProgress(int itemsLoaded, boolean finished) implements LibraryEvent {
+    }
+
+    /**
+     * A background load stopped early, e.g. on a corrupted file. The items
+     * loaded so far stay usable, but nothing is saved from then on so the
+     * partial library does not overwrite the files. Sent just before the
+     * finishing {@link LoadProgress}.
+     */
+    record LoadFailed(String message) implements LibraryEvent {
+    }
+}
@@ -0,0 +1,12 @@
+package com.documentvault.service;
+
+/**
+ * Receives {@link LibraryEvent}s from {@link LibraryService}.
+ * Events are delivered on the thread that made the change, after the
+ * service lock has been released, so listeners may read from the service.
+ */
+@FunctionalInterface
+public interface LibraryListener {
+
+    void onLibraryEvent(LibraryEvent event);
+}
@@ -1,9 +1,15 @@
 package com.documentvault.service;
 
 import com.documentvault.model.Category;
+import com.documentvault.model.DateField;
+import com.documentvault.model.FacetField;
 import com.documentvault.model.LibraryItem;
+import com.documentvault.model.SearchCriteria;
+import com.documentvault.model.SortField;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Service interface for managing library items and categories.
@@ -41,6 +47,64 @@ public interface LibraryService {
      */
     List<LibraryItem> searchItems(String query);
 
+    /**
+     * Searches with every filter applied in a single pass over the indexes,
+     * newest first. Empty criteria return the whole library.
+     */
+    List<LibraryItem> searchWithCriteria(SearchCriteria criteria);
+
+    /**
+     * Like {@link #searchWithCriteria(SearchCriteria)} but returns the
+     * matches as item ordinals, newest first, so a caller can materialize
+     * only the rows it shows. An ordinal keeps naming the same item: a
+     * deleted item's ordinal is not given to another item until the
+     * library is reloaded, so it only ever resolves to that item or null.
+     */
+    int[] searchOrdinals(SearchCriteria criteria);
+
+    /**
+     * Like {@link #searchOrdinals(SearchCriteria)} in the given order. The
+     * order comes from a maintained sorted index, so changing it costs an
+     * index walk rather than a sort of the results.
+     */
+    int[] searchOrdinals(SearchCriteria criteria, SortField field, boolean descending);
+
+    /**
+     * Resolves ordinals from {@link #searchOrdinals(SearchCriteria)} to items,
+     * in the same order. Ordinals whose item was deleted resolve to null.
+     */
+    List<LibraryItem> getItemsByOrdinals(int[] ordinals);
+
+    /**
+     * Returns the ordinal currently assigned to an item.
+     */
+    OptionalInt getOrdinal(String id);
+
+    /**
+     * Runs a query in the library query language, e.g.
+     * {@code title:java AND (tag:basics OR tag:oop) created:2025-01-01..2025-12-31}.
+     *
+     * @throws com.documentvault.search.QueryParseException if the query is malformed
+     */
+    List<LibraryItem> query(String query);
+
+    /**
+     * Describes the execution plan chosen for a query without running it.
+     */
+    String explain(String query);
+
+    /**
+     * Retrieves items whose timestamp falls in {@code [from, to)}, oldest
+     * first. A null bound leaves that side of the range open.
+     */
+    List<LibraryItem> getItemsInDateRange(DateField field, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves up to {@code limit} items, newest first by the given
+     * timestamp. This is the default ordering of the library table.
+     */
+    List<LibraryItem> getRecentItems(DateField field, int limit);
+
     /**
      * Filters items by category.
      */
@@ -56,6 +120,17 @@ public interface LibraryService {
      */
     List<LibraryItem> getItemsByType(LibraryItem.ItemType type);
 
+    /**
+     * Filters items by an exact facet value, ignoring case.
+     */
+    List<LibraryItem> getItemsByFacet(FacetField field, String value);
+
+    /**
+     * Retrieves the distinct values of a facet (all authors, all languages,
+     * ...) in sorted order.
+     */
+    List<String> getFacetValues(FacetField field);
+
     /**
      * Retrieves all categories.
      */
@@ -95,4 +170,26 @@ public interface LibraryService {
      * Gets count of items by type.
      */
     int getItemCountByType(LibraryItem.ItemType type);
+
+    /**
+     * Whether the library is still being loaded in the background. Until
+     * it finishes, searches see only the items loaded so far.
+     */
+    boolean isLoading();
+
+    /**
+     * Whether changes are kept in memory only because the library could not
+     * be loaded completely; see {@link LibraryEvent.LoadFailed}.
+     */
+    boolean isSavingDisabled();
+
+    /**
+     * Registers a listener for changes made through this service.
+     */
+    void addListener(LibraryListener listener);
+
+    /**
+     * Unregisters a listener added with {@link #addListener(LibraryListener)}.
+     */
+    void removeListener(LibraryListener listener);
 }
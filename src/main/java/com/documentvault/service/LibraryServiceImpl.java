@@ -1,33 +1,82 @@
 package com.documentvault.service;
 
+import com.documentvault.index.ColumnStore;
+import com.documentvault.index.CompressedBitmap;
+import com.documentvault.index.LibraryIndex;
 import com.documentvault.model.*;
+import com.documentvault.search.Query;
+import com.documentvault.search.QueryParser;
+import com.documentvault.search.QueryPlan;
+import com.documentvault.search.QueryPlanner;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the LibraryService interface.
  * Manages library items and categories with in-memory storage.
+ * Searches are compiled to query plans over a {@link LibraryIndex} that is
+ * kept in step with every add, update and delete.
  */
 public class LibraryServiceImpl implements LibraryService {
 
     private static LibraryServiceImpl instance;
-    private final Map<String, LibraryItem> items;
+    private static final int RESULT_CACHE_SIZE = 128;
+    private static final int LOAD_BATCH_SIZE = 1_000;
+    private static final long LOAD_PROGRESS_INTERVAL_NANOS = 250_000_000L;
     private final Map<String, Category> categories;
     private final StorageService storageService;
-
-    private LibraryServiceImpl() {
-        this.items = new HashMap<>();
+    private final LibraryIndex index;
+    private final QueryPlanner planner;
+    private final QueryResultCache resultCache;
+    private final List<LibraryListener> listeners = new CopyOnWriteArrayList<>();
+    // Searches may run on a background thread while the UI thread edits
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loading;
+    // Saves are held back while loading so a partial library never overwrites the files
+    private boolean savesDeferred;
+    private volatile boolean loadFailed;
+    private boolean itemsDirty;
+    private boolean categoriesDirty;
+
+    private LibraryServiceImpl(boolean loadNow) {
         this.categories = new HashMap<>();
         this.storageService = StorageService.getInstance();
-        loadData();
+        this.index = new LibraryIndex();
+        this.planner = new QueryPlanner(index);
+        this.resultCache = new QueryResultCache(index, RESULT_CACHE_SIZE);
+        if (loadNow) {
+            loadData();
+        }
     }
 
     /**
      * Returns the singleton instance of LibraryService.
+     * The first call loads the library before returning, unless
+     * {@link #loadInBackground()} already created the instance.
      */
     public static synchronized LibraryServiceImpl getInstance() {
         if (instance == null) {
-            instance = new LibraryServiceImpl();
+            instance = new LibraryServiceImpl(true);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the singleton without waiting for storage. Categories and
+     * then items are read, parsed and indexed in batches on a background
+     * thread, and {@link LibraryEvent.LoadProgress} events report how far
+     * it got. Edits made meanwhile are kept and saved once loading ends,
+     * unless loading fails; then {@link LibraryEvent.LoadFailed} says they
+     * are kept in memory only.
+     */
+    public static synchronized LibraryServiceImpl loadInBackground() {
+        if (instance == null) {
+            instance = new LibraryServiceImpl(false);
+            instance.startLoading();
         }
         return instance;
     }
@@ -45,43 +94,181 @@ public class LibraryServiceImpl implements LibraryService {
         // Load items
         List<LibraryItem> loadedItems = storageService.loadItems();
         for (LibraryItem item : loadedItems) {
-            items.put(item.getId(), item);
+            if (item.getItemId() != null) {
+                shareCategory(item);
+                index.index(item);
+            }
+        }
+        index.compact();
+    }
+
+    /**
+     * Points a loaded item at the library's instance of its category
+     * rather than the copy deserialized with it.
+     */
+    private void shareCategory(LibraryItem item) {
+        Category category = item.getCategory();
+        if (category != null) {
+            item.shareCategory(categories.get(category.getId()));
+        }
+    }
+
+    private void startLoading() {
+        loading = true;
+        savesDeferred = true;
+        Thread loader = new Thread(this::loadProgressively, "library-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadProgressively() {
+        int[] loaded = {0};
+        long[] lastReport = {System.nanoTime()};
+        String failure = null;
+        try {
+            List<Category> loadedCategories = storageService.loadCategories();
+            lock.writeLock().lock();
+            try {
+                loadedCategories.forEach(category -> categories.putIfAbsent(category.getId(), category));
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            storageService.loadItems(LOAD_BATCH_SIZE, batch -> {
+                lock.writeLock().lock();
+                try {
+                    for (LibraryItem item : batch) {
+                        // Items added while loading win over their stored copies
+                        if (item.getItemId() != null && index.item(item.getItemId()) == null) {
+                            shareCategory(item);
+                            index.index(item);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded[0] += batch.size();
+                if (System.nanoTime() - lastReport[0] >= LOAD_PROGRESS_INTERVAL_NANOS) {
+                    lastReport[0] = System.nanoTime();
+                    publish(new LibraryEvent.LoadProgress(loaded[0], false));
+                }
+            });
+        } catch (RuntimeException e) {
+            failure = e.getMessage() != null ? e.getMessage() : e.toString();
+            System.err.println("Error loading library, saving is disabled: " + failure);
+        }
+
+        lock.writeLock().lock();
+        try {
+            index.compact();
+            if (failure != null) {
+                // Edits stay deferred, so they are never written over the unread part
+                loadFailed = true;
+            } else {
+                savesDeferred = false;
+                if (categoriesDirty) {
+                    persistCategories();
+                }
+                if (itemsDirty) {
+                    persistItems();
+                }
+            }
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (failure != null) {
+            publish(new LibraryEvent.LoadFailed(failure));
+        }
+        publish(new LibraryEvent.LoadProgress(loaded[0], true));
+    }
+
+    /**
+     * Saves the items, or marks them for saving once loading has finished.
+     * Callers hold the write lock.
+     */
+    private void persistItems() {
+        itemsDirty = savesDeferred;
+        if (!savesDeferred) {
+            storageService.saveItems(getAllItems());
+        }
+    }
+
+    private void persistCategories() {
+        categoriesDirty = savesDeferred;
+        if (!savesDeferred) {
+            storageService.saveCategories(getAllCategories());
         }
     }
 
     @Override
     public List<LibraryItem> getAllItems() {
-        return new ArrayList<>(items.values());
+        lock.readLock().lock();
+        try {
+            return index.materialize(index.all());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Optional<LibraryItem> getItemById(String id) {
-        return Optional.ofNullable(items.get(id));
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(index.item(ItemId.parse(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void addItem(LibraryItem item) {
-        if (item != null && item.getId() != null) {
-            items.put(item.getId(), item);
-            storageService.saveItems(getAllItems());
+        lock.writeLock().lock();
+        try {
+            if (item == null || item.getItemId() == null) {
+                return;
+            }
+            index.index(item);
+            persistItems();
+        } finally {
+            lock.writeLock().unlock();
         }
+        publish(new LibraryEvent.ItemAdded(item));
     }
 
     @Override
     public void updateItem(LibraryItem item) {
-        if (item != null && item.getId() != null && items.containsKey(item.getId())) {
+        lock.writeLock().lock();
+        try {
+            if (item == null || index.item(item.getItemId()) == null) {
+                return;
+            }
             item.touch();
-            items.put(item.getId(), item);
-            storageService.saveItems(getAllItems());
+            index.index(item);
+            persistItems();
+        } finally {
+            lock.writeLock().unlock();
         }
+        publish(new LibraryEvent.ItemUpdated(item));
     }
 
     @Override
     public void deleteItem(String id) {
-        if (id != null && items.containsKey(id)) {
-            items.remove(id);
-            storageService.saveItems(getAllItems());
+        int ordinal;
+        lock.writeLock().lock();
+        try {
+            ItemId key = ItemId.parse(id);
+            OptionalInt indexed = index.ordinalOf(key);
+            if (indexed.isEmpty()) {
+                return;
+            }
+            ordinal = indexed.getAsInt();
+            index.remove(key);
+            persistItems();
+        } finally {
+            lock.writeLock().unlock();
         }
+        publish(new LibraryEvent.ItemRemoved(id, ordinal));
     }
 
     @Override
@@ -91,117 +278,362 @@ public class LibraryServiceImpl implements LibraryService {
 
     /**
      * Enhanced search using SearchCriteria record.
-     * Java 25: Optimized with modern patterns and better performance.
+     * The criteria are converted to a query and executed through the planner,
+     * so the most selective index drives the search. Matches are cached per
+     * criteria until an index dimension they depend on changes. Results are
+     * returned most recently modified first, straight from the date index.
      */
+    @Override
     public List<LibraryItem> searchWithCriteria(SearchCriteria criteria) {
-        if (criteria.query().isEmpty() && criteria.category() == null &&
-                criteria.type() == null && criteria.tags().isEmpty()) {
-            return getAllItems();
+        lock.readLock().lock();
+        try {
+            return newestFirst(matching(criteria));
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        return items.values().parallelStream() // Java 25: Better parallel performance
-                .filter(criteria::matches)
-                .collect(Collectors.toList());
+    @Override
+    public int[] searchOrdinals(SearchCriteria criteria) {
+        return searchOrdinals(criteria, SortField.MODIFIED, true);
     }
 
     @Override
-    public List<LibraryItem> getItemsByCategory(Category category) {
-        if (category == null) {
-            return getAllItems();
+    public int[] searchOrdinals(SearchCriteria criteria, SortField field, boolean descending) {
+        lock.readLock().lock();
+        try {
+            return index.sortedOrdinals(matching(criteria), field, descending, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        return items.values().stream()
-                .filter(item -> category.equals(item.getCategory()))
-                .collect(Collectors.toList());
+    @Override
+    public List<LibraryItem> getItemsByOrdinals(int[] ordinals) {
+        lock.readLock().lock();
+        try {
+            return index.items(ordinals);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public List<LibraryItem> getItemsByTag(String tag) {
-        if (tag == null || tag.trim().isEmpty()) {
-            return getAllItems();
+    public OptionalInt getOrdinal(String id) {
+        lock.readLock().lock();
+        try {
+            return index.ordinalOf(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches and counts the result facets in one go.
+     * The plan is executed once; items and counts are both derived from the
+     * same ordinal set, so the counts cost a single pass over the matches.
+     */
+    public SearchResult searchWithFacets(SearchCriteria criteria, int topTags) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap ordinals = matching(criteria);
+            return new SearchResult(newestFirst(ordinals), index.facetCounts(ordinals, Math.max(0, topTags)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ordinals matching the criteria, from the result cache when
+     * still current. When the criteria refine a cached search (the user kept
+     * typing), only that search's matches are re-checked; otherwise, e.g.
+     * after the query was shortened, the indexes are used.
+     * The returned bitmap must not be modified.
+     */
+    private CompressedBitmap matching(SearchCriteria criteria) {
+        if (criteria.isEmpty()) {
+            return index.all();
+        }
+        CompressedBitmap ordinals = resultCache.get(criteria);
+        if (ordinals == null) {
+            CompressedBitmap candidates = resultCache.narrowestSuperset(criteria);
+            QueryPlan plan = candidates != null
+                    ? planner.refine(Query.of(criteria), candidates)
+                    : planner.plan(Query.of(criteria));
+            ordinals = plan.executeOrdinals();
+            resultCache.put(criteria, ordinals);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Returns hit, miss and eviction counts of the search result cache.
+     */
+    public QueryResultCache.Stats getSearchCacheStats() {
+        return resultCache.stats();
+    }
+
+    @Override
+    public List<LibraryItem> query(String query) {
+        lock.readLock().lock();
+        try {
+            return newestFirst(planQuery(query).executeOrdinals());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String explain(String query) {
+        lock.readLock().lock();
+        try {
+            return planQuery(query).explain();
+        } finally {
+            lock.readLock().unlock();
         }
+    }
+
+    private QueryPlan planQuery(String query) {
+        return planner.plan(QueryParser.parse(query));
+    }
+
+    private List<LibraryItem> newestFirst(CompressedBitmap ordinals) {
+        return index.sorted(ordinals, DateField.MODIFIED, true, Integer.MAX_VALUE);
+    }
 
-        String searchTag = tag.toLowerCase().trim();
-        return items.values().stream()
-                .filter(item -> item.hasTag(searchTag))
-                .collect(Collectors.toList());
+    @Override
+    public List<LibraryItem> getItemsInDateRange(DateField field, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            return index.sorted(index.dateRange(field, from, to), field, false, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibraryItem> getRecentItems(DateField field, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.sorted(index.all(), field, true, Math.max(0, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibraryItem> getItemsByCategory(Category category) {
+        lock.readLock().lock();
+        try {
+            if (category == null) {
+                return getAllItems();
+            }
+
+            return index.materialize(index.category(category.getId()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibraryItem> getItemsByTag(String tag) {
+        lock.readLock().lock();
+        try {
+            if (tag == null || tag.trim().isEmpty()) {
+                return getAllItems();
+            }
+
+            return index.materialize(index.tag(tag));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<LibraryItem> getItemsByType(LibraryItem.ItemType type) {
-        if (type == null) {
-            return getAllItems();
+        lock.readLock().lock();
+        try {
+            if (type == null) {
+                return getAllItems();
+            }
+
+            return index.materialize(index.type(type));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibraryItem> getItemsByFacet(FacetField field, String value) {
+        lock.readLock().lock();
+        try {
+            if (field == null || value == null || value.isBlank()) {
+                return getAllItems();
+            }
+
+            return index.materialize(index.facet(field, value));
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        return items.values().stream()
-                .filter(item -> type.equals(item.getItemType()))
-                .collect(Collectors.toList());
+    @Override
+    public List<String> getFacetValues(FacetField field) {
+        lock.readLock().lock();
+        try {
+            return field != null ? index.facetValues(field) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<Category> getAllCategories() {
-        return new ArrayList<>(categories.values());
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(categories.values());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Optional<Category> getCategoryById(String id) {
-        return Optional.ofNullable(categories.get(id));
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(categories.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void addCategory(Category category) {
-        if (category != null && category.getId() != null) {
+        lock.writeLock().lock();
+        try {
+            if (category == null || category.getId() == null) {
+                return;
+            }
             categories.put(category.getId(), category);
-            storageService.saveCategories(getAllCategories());
+            persistCategories();
+        } finally {
+            lock.writeLock().unlock();
         }
+        publish(new LibraryEvent.CategoryChanged(category.getId()));
     }
 
     @Override
     public void updateCategory(Category category) {
-        if (category != null && category.getId() != null && categories.containsKey(category.getId())) {
+        lock.writeLock().lock();
+        try {
+            if (category == null || category.getId() == null || !categories.containsKey(category.getId())) {
+                return;
+            }
             categories.put(category.getId(), category);
-            storageService.saveCategories(getAllCategories());
+            index.updateCategoryName(category);
+            persistCategories();
+        } finally {
+            lock.writeLock().unlock();
         }
+        publish(new LibraryEvent.CategoryChanged(category.getId()));
     }
 
     @Override
     public void deleteCategory(String id) {
-        if (id != null && categories.containsKey(id)) {
+        Set<String> uncategorized = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            if (id == null || !categories.containsKey(id)) {
+                return;
+            }
             Category categoryToDelete = categories.get(id);
 
             // Remove category from all items
-            items.values().stream()
-                    .filter(item -> categoryToDelete.equals(item.getCategory()))
-                    .forEach(item -> item.setCategory(null));
+            for (LibraryItem item : index.materialize(index.category(categoryToDelete.getId()))) {
+                item.setCategory(null);
+                index.index(item);
+                uncategorized.add(item.getId());
+            }
 
             categories.remove(id);
-            storageService.saveCategories(getAllCategories());
-            storageService.saveItems(getAllItems());
+            persistCategories();
+            persistItems();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(new LibraryEvent.CategoryChanged(id));
+        if (!uncategorized.isEmpty()) {
+            publish(new LibraryEvent.BulkChange(uncategorized));
         }
     }
 
     @Override
     public List<String> getAllTags() {
-        Set<String> allTags = new HashSet<>();
-        items.values().forEach(item -> allTags.addAll(item.getTags()));
-        return new ArrayList<>(allTags).stream()
-                .sorted()
-                .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            // The index keeps reference-counted live tags in sorted order
+            return index.tagNames();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public int getItemCount() {
-        return items.size();
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public int getItemCountByType(LibraryItem.ItemType type) {
-        if (type == null) {
-            return 0;
+        lock.readLock().lock();
+        try {
+            if (type == null) {
+                return 0;
+            }
+            return index.type(type).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isLoading() {
+        return loading;
+    }
+
+    @Override
+    public boolean isSavingDisabled() {
+        return loadFailed;
+    }
+
+    @Override
+    public void addListener(LibraryListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeListener(LibraryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers an event to every listener. Called outside the lock so that
+     * listeners can query the service; one failing listener does not keep
+     * the event from the others.
+     */
+    private void publish(LibraryEvent event) {
+        for (LibraryListener listener : listeners) {
+            try {
+                listener.onLibraryEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Library listener failed on " + event + ": " + e.getMessage());
+            }
         }
-        return (int) items.values().stream()
-                .filter(item -> type.equals(item.getItemType()))
-                .count();
     }
 
     /**
@@ -209,11 +641,15 @@ public class LibraryServiceImpl implements LibraryService {
      * Java 25: Leverages sealed classes for type safety.
      */
     public List<String> getItemDescriptions() {
-        var criteria = new SearchCriteria("");
-        return items.values().stream()
-                .map(criteria::getEnhancedDescription)
-                .sorted()
-                .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            return index.materialize(index.all()).stream()
+                    .map(item -> item.getDisplay().description())
+                    .sorted()
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -221,26 +657,31 @@ public class LibraryServiceImpl implements LibraryService {
      * Java 25: Modern collection operations for better performance.
      */
     public java.util.Map<String, Object> getPerformanceStats() {
-        var stats = new java.util.HashMap<String, Object>();
-
-        // Count by type using a single stream traversal
-        Map<Class<?>, Long> typeCounts = items.values().stream()
-                .collect(Collectors.groupingBy(
-                        Object::getClass,
-                        Collectors.counting()));
-        long noteCount = typeCounts.getOrDefault(com.documentvault.model.Note.class, 0L);
-        long pdfCount = typeCounts.getOrDefault(com.documentvault.model.PdfDocument.class, 0L);
-        long mediaCount = typeCounts.getOrDefault(com.documentvault.model.MediaLink.class, 0L);
-        long snippetCount = typeCounts.getOrDefault(com.documentvault.model.TextSnippet.class, 0L);
-
-        stats.put("totalItems", items.size());
-        stats.put("noteCount", noteCount);
-        stats.put("pdfCount", pdfCount);
-        stats.put("mediaCount", mediaCount);
-        stats.put("snippetCount", snippetCount);
-        stats.put("categoryCount", categories.size());
-        stats.put("uniqueTagCount", getAllTags().size());
-
-        return stats;
+        lock.readLock().lock();
+        try {
+            var stats = new java.util.HashMap<String, Object>();
+
+            // Count from the type postings and scan the index columns
+            // instead of materializing every item
+            ColumnStore columns = index.columns();
+
+            stats.put("totalItems", index.size());
+            stats.put("noteCount", (long) index.type(LibraryItem.ItemType.NOTE).cardinality());
+            stats.put("pdfCount", (long) index.type(LibraryItem.ItemType.PDF).cardinality());
+            stats.put("mediaCount", (long) index.type(LibraryItem.ItemType.MEDIA_LINK).cardinality());
+            stats.put("snippetCount", (long) index.type(LibraryItem.ItemType.TEXT_SNIPPET).cardinality());
+            stats.put("totalPageCount", columns.sum(NumericField.PAGE_COUNT));
+            stats.put("totalFileSize", columns.sum(NumericField.FILE_SIZE));
+            stats.put("totalMediaMinutes", columns.sum(NumericField.DURATION_MINUTES));
+            stats.put("itemsAddedLastWeek", columns.countBetween(DateField.CREATED,
+                    Timestamps.encode(LocalDateTime.now().minusWeeks(1)), Long.MAX_VALUE));
+            stats.put("categoryCount", categories.size());
+            stats.put("uniqueTagCount", index.tagCount());
+            stats.put("searchCacheHitRate", resultCache.stats().hitRate());
+
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 }
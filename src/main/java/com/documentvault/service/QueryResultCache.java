@@ -0,0 +1,156 @@
+package com.documentvault.service;
+
+import com.documentvault.index.CompressedBitmap;
+import com.documentvault.index.IndexDimension;
+import com.documentvault.index.LibraryIndex;
+import com.documentvault.model.SearchCriteria;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of search results keyed on {@link SearchCriteria}.
+ *
+ * Entries hold the matching ordinals, not the ordered item list, together
+ * with the index generations of the dimensions the criteria read. An entry
+ * stays valid until one of those dimensions changes, so editing a tag does
+ * not flush cached category or type filters. Ordering is applied on every
+ * hit, which keeps results correct as modification times move.
+ *
+ * On a miss, a current entry whose criteria the new ones refine (the same
+ * filters with a longer query text) can serve as the candidate set, so
+ * search-as-you-type only re-checks the previous keystroke's matches.
+ */
+public class QueryResultCache {
+
+    /**
+     * Cache counters since creation.
+     */
+    public record Stats(long hits, long misses, long refinements, long invalidations, long evictions, int size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(CompressedBitmap ordinals, Set<IndexDimension> dimensions, long[] generations) {
+    }
+
+    private final LibraryIndex index;
+    private final Map<SearchCriteria, Entry> entries;
+    private long hits;
+    private long misses;
+    private long refinements;
+    private long invalidations;
+    private long evictions;
+
+    QueryResultCache(LibraryIndex index, int capacity) {
+        this.index = index;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchCriteria, Entry> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached ordinals for the criteria, or null if there is no
+     * current entry. The returned bitmap must not be modified.
+     */
+    synchronized CompressedBitmap get(SearchCriteria criteria) {
+        Entry entry = entries.get(criteria);
+        if (entry == null || !isCurrent(criteria, entry)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.ordinals();
+    }
+
+    /**
+     * Returns the smallest current cached result that contains every match
+     * of the criteria, or null if no cached criteria are broader.
+     * The returned bitmap must not be modified.
+     */
+    synchronized CompressedBitmap narrowestSuperset(SearchCriteria criteria) {
+        CompressedBitmap narrowest = null;
+        int narrowestSize = Integer.MAX_VALUE;
+        // Copy the keys: isCurrent may drop stale entries while we scan
+        for (SearchCriteria cached : List.copyOf(entries.keySet())) {
+            if (!criteria.isRefinementOf(cached)) {
+                continue;
+            }
+            Entry entry = entries.get(cached);
+            if (isCurrent(cached, entry) && entry.ordinals().cardinality() < narrowestSize) {
+                narrowest = entry.ordinals();
+                narrowestSize = narrowest.cardinality();
+            }
+        }
+        if (narrowest != null) {
+            refinements++;
+        }
+        return narrowest;
+    }
+
+    private boolean isCurrent(SearchCriteria criteria, Entry entry) {
+        for (IndexDimension dimension : entry.dimensions()) {
+            if (entry.generations()[dimension.ordinal()] != index.generation(dimension)) {
+                entries.remove(criteria);
+                invalidations++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Caches the ordinals computed for the criteria against the current
+     * index generations.
+     */
+    synchronized void put(SearchCriteria criteria, CompressedBitmap ordinals) {
+        long[] generations = new long[IndexDimension.values().length];
+        for (IndexDimension dimension : IndexDimension.values()) {
+            generations[dimension.ordinal()] = index.generation(dimension);
+        }
+        entries.put(criteria, new Entry(ordinals, dimensionsOf(criteria), generations));
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized Stats stats() {
+        return new Stats(hits, misses, refinements, invalidations, evictions, entries.size());
+    }
+
+    /**
+     * Returns the index dimensions whose contents determine the result.
+     */
+    static Set<IndexDimension> dimensionsOf(SearchCriteria criteria) {
+        Set<IndexDimension> dimensions = EnumSet.noneOf(IndexDimension.class);
+        if (!criteria.query().isEmpty()) {
+            dimensions.add(IndexDimension.TEXT);
+        }
+        if (criteria.category() != null) {
+            dimensions.add(IndexDimension.CATEGORY);
+        }
+        if (criteria.type() != null) {
+            dimensions.add(IndexDimension.TYPE);
+        }
+        if (!criteria.tags().isEmpty()) {
+            dimensions.add(IndexDimension.TAG);
+        }
+        if (!criteria.ranges().isEmpty()) {
+            dimensions.add(IndexDimension.NUMBER);
+        }
+        return dimensions;
+    }
+}
@@ -0,0 +1,18 @@
+package com.documentvault.service;
+
+import com.documentvault.index.FacetCounts;
+import com.documentvault.model.LibraryItem;
+import java.util.List;
+
+/**
+ * Items matching a search together with the facet counts of that result set.
+ *
+ * @param items  matching items, most recently modified first
+ * @param facets counts per type, category and top tags over {@code items}
+ */
+public record SearchResult(List<LibraryItem> items, FacetCounts facets) {
+
+    public SearchResult {
+        items = List.copyOf(items);
+    }
+}
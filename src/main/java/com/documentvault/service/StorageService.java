@@ -1,12 +1,21 @@
 package com.documentvault.service;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.documentvault.model.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
  * Service for handling file I/O operations.
@@ -18,11 +27,32 @@ public class StorageService {
     private static final String APP_DIR_NAME = ".documentvault";
     private static final String ITEMS_FILE = "library-items.json";
     private static final String CATEGORIES_FILE = "categories.json";
+    // Pretty-printed array punctuation around item fragments
+    private static final ByteBuffer ARRAY_OPEN = ascii("[\n  ");
+    private static final ByteBuffer ARRAY_SEPARATOR = ascii(",\n  ");
+    private static final ByteBuffer ARRAY_CLOSE = ascii("\n]");
+    private static final ByteBuffer EMPTY_ARRAY = ascii("[]");
+    // Below this many items a single thread is faster than forking
+    private static final int PARALLEL_THRESHOLD = 512;
 
     private final Path storageDirectory;
     private final Path itemsFilePath;
     private final Path categoriesFilePath;
     private final Gson gson;
+    // Serialized items from the last save, reused while an item is unchanged
+    private Map<ItemId, Fragment> fragments = new HashMap<>();
+
+    /**
+     * The serialized form of one item as it appears inside the items array,
+     * valid for as long as the item and its embedded category are unchanged.
+     */
+    private record Fragment(LibraryItem item, long version, List<String> category, ByteBuffer bytes) {
+
+        boolean isCurrent(LibraryItem current) {
+            return item == current && version == current.getVersion()
+                    && Objects.equals(category, categoryState(current.getCategory()));
+        }
+    }
 
     private StorageService() {
         // Initialize storage directory
@@ -36,6 +66,8 @@ public class StorageService {
                 .setPrettyPrinting()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(LibraryItem.class, new LibraryItemAdapter())
+                .registerTypeAdapter(TagSet.class, new TagSetAdapter())
+                .registerTypeAdapter(ItemId.class, new ItemIdAdapter())
                 .create();
 
         // Create storage directory if it doesn't exist
@@ -77,10 +109,19 @@ public class StorageService {
 
     /**
      * Loads all library items from storage.
+     * Large files are split at top-level array elements and the elements
+     * are parsed in parallel on the caller's fork/join pool, or the common
+     * pool, then returned in file order.
      */
     public List<LibraryItem> loadItems() {
         try {
             String json = Files.readString(itemsFilePath);
+            int[] bounds = arrayElementBounds(json);
+            if (bounds != null && bounds.length / 2 >= PARALLEL_THRESHOLD) {
+                return Arrays.asList(IntStream.range(0, bounds.length / 2).parallel()
+                        .mapToObj(i -> gson.fromJson(json.substring(bounds[i * 2], bounds[i * 2 + 1]), LibraryItem.class))
+                        .toArray(LibraryItem[]::new));
+            }
             LibraryItem[] itemsArray = gson.fromJson(json, LibraryItem[].class);
             return itemsArray != null ? Arrays.asList(itemsArray) : new ArrayList<>();
         } catch (IOException e) {
@@ -90,18 +131,226 @@ public class StorageService {
     }
 
     /**
-     * Saves all library items to storage.
+     * Streams library items from storage in batches of {@code batchSize},
+     * so the caller can index each batch while the rest is still parsed.
+     * Large files are split at top-level array elements like
+     * {@link #loadItems()}, and the batches after the one being consumed
+     * are parsed ahead on the caller's fork/join pool, or the common pool.
+     * Batches are always handed over in file order, and no more are parsed
+     * ahead than the pool has threads.
+     *
+     * @throws JsonParseException if the file is corrupted
+     * @throws UncheckedIOException if the file cannot be read
      */
-    public void saveItems(List<LibraryItem> items) {
+    public void loadItems(int batchSize, Consumer<List<LibraryItem>> batches) {
+        String json;
+        try {
+            json = Files.readString(itemsFilePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading items", e);
+        }
+        int[] bounds = arrayElementBounds(json);
+        if (bounds == null || bounds.length / 2 < PARALLEL_THRESHOLD) {
+            loadItemsSequentially(json, batchSize, batches);
+            return;
+        }
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        int ahead = pool.getParallelism();
+        int count = bounds.length / 2;
+        Deque<ForkJoinTask<List<LibraryItem>>> parsing = new ArrayDeque<>();
         try {
-            String json = gson.toJson(items);
-            Files.writeString(itemsFilePath, json);
+            for (int from = 0; from < count || !parsing.isEmpty(); ) {
+                while (from < count && parsing.size() <= ahead) {
+                    int first = from;
+                    int last = Math.min(count, from + batchSize);
+                    parsing.addLast(pool.submit(() -> parseElements(json, bounds, first, last)));
+                    from = last;
+                }
+                batches.accept(parsing.removeFirst().join());
+            }
+        } finally {
+            // Stop parsing ahead if the file was corrupted or the consumer failed
+            parsing.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private void loadItemsSequentially(String json, int batchSize, Consumer<List<LibraryItem>> batches) {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            if (reader.peek() == JsonToken.NULL) {
+                return;
+            }
+            reader.beginArray();
+            List<LibraryItem> batch = new ArrayList<>(batchSize);
+            while (reader.hasNext()) {
+                batch.add(gson.fromJson(reader, LibraryItem.class));
+                if (batch.size() == batchSize) {
+                    batches.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            reader.endArray();
+            if (!batch.isEmpty()) {
+                batches.accept(batch);
+            }
+        } catch (IOException e) {
+            throw new JsonParseException("Error loading items", e);
+        }
+    }
+
+    /**
+     * Parses the array elements from {@code first} up to {@code last}.
+     */
+    private List<LibraryItem> parseElements(String json, int[] bounds, int first, int last) {
+        List<LibraryItem> items = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+            items.add(gson.fromJson(json.substring(bounds[i * 2], bounds[i * 2 + 1]), LibraryItem.class));
+        }
+        return items;
+    }
+
+    /**
+     * Saves all library items to storage.
+     * Each item's serialized bytes are cached against its version, so only
+     * items changed since the last save are serialized again. The file is
+     * written with one gathered write of the cached buffers and is
+     * byte-for-byte what serializing the whole list would produce.
+     */
+    public synchronized void saveItems(List<LibraryItem> items) {
+        Fragment[] current = fragmentsOf(items.toArray(new LibraryItem[0]));
+        Map<ItemId, Fragment> next = new HashMap<>(current.length * 2);
+        ByteBuffer[] buffers;
+        if (current.length == 0) {
+            buffers = new ByteBuffer[]{EMPTY_ARRAY.duplicate()};
+        } else {
+            buffers = new ByteBuffer[current.length * 2 + 1];
+            for (int i = 0; i < current.length; i++) {
+                Fragment fragment = current[i];
+                next.put(fragment.item().getItemId(), fragment);
+                buffers[i * 2] = (i == 0 ? ARRAY_OPEN : ARRAY_SEPARATOR).duplicate();
+                buffers[i * 2 + 1] = fragment.bytes().duplicate();
+            }
+            buffers[buffers.length - 1] = ARRAY_CLOSE.duplicate();
+        }
+        // Items no longer saved drop out of the cache
+        fragments = next;
+
+        try (FileChannel channel = FileChannel.open(itemsFilePath,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
         } catch (IOException e) {
             System.err.println("Error saving items: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Returns the fragment of every item, reusing cached ones. When many
+     * items changed they are serialized in parallel on the caller's
+     * fork/join pool, or the common pool, each into its own buffer.
+     */
+    private Fragment[] fragmentsOf(LibraryItem[] items) {
+        Fragment[] result = new Fragment[items.length];
+        int stale = 0;
+        for (int i = 0; i < items.length; i++) {
+            Fragment cached = fragments.get(items[i].getItemId());
+            if (cached != null && cached.isCurrent(items[i])) {
+                result[i] = cached;
+            } else {
+                stale++;
+            }
+        }
+        IntStream staleIndexes = IntStream.range(0, items.length).filter(i -> result[i] == null);
+        if (stale >= PARALLEL_THRESHOLD) {
+            staleIndexes = staleIndexes.parallel();
+        }
+        staleIndexes.forEach(i -> result[i] = serialize(items[i]));
+        return result;
+    }
+
+    private Fragment serialize(LibraryItem item) {
+        long version = item.getVersion();
+        // Nest the item one level deep, as the array's pretty printer would
+        String json = gson.toJson(item).replace("\n", "\n  ");
+        ByteBuffer bytes = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+        return new Fragment(item, version, categoryState(item.getCategory()), bytes);
+    }
+
+    /**
+     * Returns the serialized fields of an item's category. Categories are
+     * embedded in items but have no version of their own.
+     */
+    private static List<String> categoryState(Category category) {
+        if (category == null) {
+            return null;
+        }
+        return Arrays.asList(category.getId(), category.getName(), category.getColor(), category.getDescription());
+    }
+
+    /**
+     * Returns the start and end offset of each element of a top-level JSON
+     * array, as consecutive pairs, or null if the text is not shaped like
+     * one. Only strings and nesting are tracked; the elements themselves are
+     * left to the parser to validate.
+     */
+    private static int[] arrayElementBounds(String json) {
+        int i = 0;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        if (i == json.length() || json.charAt(i) != '[') {
+            return null;
+        }
+        int[] bounds = new int[64];
+        int count = 0;
+        int depth = 0;
+        int start = -1;
+        for (; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (depth == 1 && start < 0 && !Character.isWhitespace(c) && c != ',' && c != ']') {
+                start = i;
+            }
+            switch (c) {
+                case '"' -> {
+                    // Skip the string, including escaped quotes
+                    for (i++; i < json.length() && json.charAt(i) != '"'; i++) {
+                        if (json.charAt(i) == '\\') {
+                            i++;
+                        }
+                    }
+                }
+                case '[', '{' -> depth++;
+                case ']', '}' -> depth--;
+                default -> {
+                }
+            }
+            if (depth == 1 && c == ',' || depth == 0) {
+                if (start < 0) {
+                    // An empty element is only valid as the whole of "[]"
+                    if (depth == 0 && count == 0) {
+                        return json.substring(i + 1).isBlank() ? new int[0] : null;
+                    }
+                    return null;
+                }
+                if (count + 2 > bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                }
+                bounds[count++] = start;
+                bounds[count++] = i;
+                start = -1;
+                if (depth == 0) {
+                    return json.substring(i + 1).isBlank() ? Arrays.copyOf(bounds, count) : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ByteBuffer ascii(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+
     /**
      * Loads all categories from storage.
      */
@@ -164,6 +413,48 @@ public class StorageService {
         }
     }
 
+    /**
+     * Custom Gson adapter for TagSet, stored as a sorted array of tag names
+     * so the file format does not depend on dictionary ids.
+     */
+    private static class TagSetAdapter implements JsonSerializer<TagSet>, JsonDeserializer<TagSet> {
+        @Override
+        public JsonElement serialize(TagSet tags, java.lang.reflect.Type type,
+                JsonSerializationContext context) {
+            JsonArray array = new JsonArray();
+            tags.names().stream().sorted().forEach(array::add);
+            return array;
+        }
+
+        @Override
+        public TagSet deserialize(JsonElement json, java.lang.reflect.Type type,
+                JsonDeserializationContext context) throws JsonParseException {
+            if (!json.isJsonArray()) {
+                throw new JsonParseException("Expected an array of tags");
+            }
+            List<String> names = new ArrayList<>();
+            json.getAsJsonArray().forEach(element -> names.add(element.getAsString()));
+            return TagSet.of(names);
+        }
+    }
+
+    /**
+     * Custom Gson adapter for ItemId, stored as the id string.
+     */
+    private static class ItemIdAdapter implements JsonSerializer<ItemId>, JsonDeserializer<ItemId> {
+        @Override
+        public JsonElement serialize(ItemId id, java.lang.reflect.Type type,
+                JsonSerializationContext context) {
+            return new JsonPrimitive(id.toString());
+        }
+
+        @Override
+        public ItemId deserialize(JsonElement json, java.lang.reflect.Type type,
+                JsonDeserializationContext context) throws JsonParseException {
+            return ItemId.parse(json.getAsString());
+        }
+    }
+
     /**
      * Custom Gson adapter for LibraryItem polymorphic
      * serialization/deserialization.
@@ -190,6 +481,17 @@ public class StorageService {
                 // For now, we'll try to infer the type or skip the item
                 // A simple approach: if it has a "filePath" it's a PDF, etc.
                 // This is just an example, a more robust solution is needed for production
+                JsonElement itemTypeElement = jsonObject.get("itemType");
+                if (itemTypeElement != null && !itemTypeElement.isJsonNull()) {
+                    // Items are saved unwrapped with their type as a field
+                    return switch (itemTypeElement.getAsString()) {
+                        case "NOTE" -> context.deserialize(jsonObject, Note.class);
+                        case "PDF" -> context.deserialize(jsonObject, PdfDocument.class);
+                        case "MEDIA_LINK" -> context.deserialize(jsonObject, MediaLink.class);
+                        case "TEXT_SNIPPET" -> context.deserialize(jsonObject, TextSnippet.class);
+                        default -> throw new JsonParseException("Unknown item type: " + itemTypeElement.getAsString());
+                    };
+                }
                 if (jsonObject.has("filePath")) {
                     return context.deserialize(jsonObject, PdfDocument.class);
                 } else if (jsonObject.has("content")) {
@@ -0,0 +1,50 @@
+package com.documentvault.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Utility class for generating time-ordered ids.
+ * Ids follow the UUID version 7 layout: a 48-bit millisecond timestamp, a
+ * 12-bit sequence and 62 random bits, so they still parse as UUIDs while
+ * sorting by creation time. Each thread keeps its own sequence and draws
+ * from {@link ThreadLocalRandom}, so bulk creation neither locks nor goes
+ * through {@code SecureRandom} the way {@link UUID#randomUUID()} does. Ids
+ * are unique, not unguessable.
+ */
+public final class IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MAX = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION_7 = 0x7L << SEQUENCE_BITS;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+
+    // Per thread: the last timestamp used and the sequence within it
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private IdGenerator() {
+    }
+
+    /**
+     * Returns a new version 7 UUID. Ids from one thread are strictly
+     * increasing, even within a millisecond or if the clock steps back.
+     */
+    public static UUID timeOrdered() {
+        long[] state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = System.currentTimeMillis();
+        if (millis > state[0]) {
+            state[0] = millis;
+            // Start low enough to leave room for a burst within the millisecond
+            state[1] = random.nextLong(SEQUENCE_MAX >>> 1);
+        } else if (++state[1] > SEQUENCE_MAX) {
+            // Sequence exhausted: borrow the next millisecond
+            state[0]++;
+            state[1] = 0;
+        }
+        long high = state[0] << 16 | VERSION_7 | state[1];
+        long low = random.nextLong() & VARIANT_MASK | VARIANT_IETF;
+        return new UUID(high, low);
+    }
+}
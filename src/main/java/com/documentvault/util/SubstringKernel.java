@@ -0,0 +1,48 @@
+package com.documentvault.util;
+
+import java.util.Optional;
+
+/**
+ * Finds the first occurrence of a pattern in text that has already been
+ * case-folded, held either as Latin-1 bytes or as UTF-16 chars.
+ * Implementations compare code units exactly; folding both sides the same
+ * way is the caller's job.
+ */
+public interface SubstringKernel {
+
+    /**
+     * Name of the incubating module the vectorized kernel is built on.
+     */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Returns the index of the first occurrence of {@code pattern} in text
+     * stored as Latin-1 bytes, or -1. Every char of the pattern must be at
+     * most {@code U+00FF}; an empty pattern is found at 0.
+     */
+    int indexOf(byte[] text, String pattern);
+
+    /**
+     * Returns the index of the first occurrence of {@code pattern} in
+     * UTF-16 text, or -1. An empty pattern is found at 0.
+     */
+    int indexOf(char[] text, String pattern);
+
+    /**
+     * Returns the vectorized kernel if it was built with the {@code vector}
+     * Maven profile and the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}, otherwise empty.
+     */
+    static Optional<SubstringKernel> vectorized() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            // Looked up by name since the default build leaves it out
+            return Optional.of((SubstringKernel) Class.forName(SubstringKernel.class.getPackageName()
+                    + ".VectorSubstringKernel").getConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+}
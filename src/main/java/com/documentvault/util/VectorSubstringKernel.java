@@ -0,0 +1,127 @@
+package com.documentvault.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Substring search that tests a whole vector of start positions at once
+ * with the incubating Vector API.
+ *
+ * For a block of positions it loads the text at those positions and again
+ * shifted by the pattern length minus one, compares the first load with
+ * the pattern's first char and the second with its last char, and ANDs
+ * the two masks. Only positions left in the mask have their middle
+ * compared, so a block of text that cannot contain the pattern costs two
+ * loads, two compares and a test. The text past the last whole block is
+ * searched one position at a time with the same first and last char test.
+ *
+ * Requires {@code --add-modules jdk.incubator.vector} at compile time and
+ * at run time, so it is only compiled by the {@code vector} Maven profile;
+ * {@link SubstringKernel#vectorized()} only returns this kernel when it
+ * was compiled and the module is present.
+ */
+public final class VectorSubstringKernel implements SubstringKernel {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+
+    @Override
+    public int indexOf(byte[] text, String pattern) {
+        int length = pattern.length();
+        if (length == 0) {
+            return 0;
+        }
+        ByteVector first = ByteVector.broadcast(BYTES, (byte) pattern.charAt(0));
+        ByteVector last = ByteVector.broadcast(BYTES, (byte) pattern.charAt(length - 1));
+        int lanes = BYTES.length();
+        int start = 0;
+        // Both loads of a block must lie inside the text
+        for (int bound = text.length - length + 1 - lanes; start <= bound; start += lanes) {
+            ByteVector heads = ByteVector.fromArray(BYTES, text, start);
+            ByteVector tails = ByteVector.fromArray(BYTES, text, start + length - 1);
+            long candidates = heads.eq(first).and(tails.eq(last)).toLong();
+            while (candidates != 0) {
+                int candidate = start + Long.numberOfTrailingZeros(candidates);
+                if (matchesMiddle(text, candidate, pattern)) {
+                    return candidate;
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        return indexOf(text, pattern, start);
+    }
+
+    @Override
+    public int indexOf(char[] text, String pattern) {
+        int length = pattern.length();
+        if (length == 0) {
+            return 0;
+        }
+        ShortVector first = ShortVector.broadcast(CHARS, (short) pattern.charAt(0));
+        ShortVector last = ShortVector.broadcast(CHARS, (short) pattern.charAt(length - 1));
+        int lanes = CHARS.length();
+        int start = 0;
+        for (int bound = text.length - length + 1 - lanes; start <= bound; start += lanes) {
+            ShortVector heads = ShortVector.fromCharArray(CHARS, text, start);
+            ShortVector tails = ShortVector.fromCharArray(CHARS, text, start + length - 1);
+            long candidates = heads.eq(first).and(tails.eq(last)).toLong();
+            while (candidates != 0) {
+                int candidate = start + Long.numberOfTrailingZeros(candidates);
+                if (matchesMiddle(text, candidate, pattern)) {
+                    return candidate;
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        return indexOf(text, pattern, start);
+    }
+
+    private static int indexOf(byte[] text, String pattern, int from) {
+        int length = pattern.length();
+        int first = pattern.charAt(0);
+        int last = pattern.charAt(length - 1);
+        for (int start = from, end = text.length - length; start <= end; start++) {
+            if ((text[start] & 0xFF) == first && (text[start + length - 1] & 0xFF) == last
+                    && matchesMiddle(text, start, pattern)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(char[] text, String pattern, int from) {
+        int length = pattern.length();
+        char first = pattern.charAt(0);
+        char last = pattern.charAt(length - 1);
+        for (int start = from, end = text.length - length; start <= end; start++) {
+            if (text[start] == first && text[start + length - 1] == last
+                    && matchesMiddle(text, start, pattern)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the chars between the pattern's first and last with the
+     * text at {@code start}; the ends have already been checked.
+     */
+    private static boolean matchesMiddle(byte[] text, int start, String pattern) {
+        for (int i = 1, end = pattern.length() - 1; i < end; i++) {
+            if ((text[start + i] & 0xFF) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesMiddle(char[] text, int start, String pattern) {
+        for (int i = 1, end = pattern.length() - 1; i < end; i++) {
+            if (text[start + i] != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.documentvault.viewmodel;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+
+/**
+ * Runs searches on a background worker after a debounce delay.
+ *
+ * Each submission cancels the previous one if it has not started yet, so a
+ * burst of keystrokes costs one search. A search that is already running
+ * finishes, but its result is dropped if a newer search was submitted in
+ * the meantime. Results are published through {@code publisher}, by default
+ * {@link Platform#runLater}, and are checked once more there so a stale
+ * result never overwrites a newer one. Work handed in after
+ * {@link #shutdown()}, such as a late page request while the window
+ * closes, is discarded.
+ */
+public class BackgroundSearchScheduler implements SearchScheduler {
+
+    private final long debounceMillis;
+    private final Executor publisher;
+    private final ScheduledExecutorService worker;
+    private final AtomicLong latest = new AtomicLong();
+    private ScheduledFuture<?> pending;
+
+    public BackgroundSearchScheduler(Duration debounce) {
+        this(debounce, Platform::runLater);
+    }
+
+    public BackgroundSearchScheduler(Duration debounce, Executor publisher) {
+        this.debounceMillis = debounce.toMillis();
+        this.publisher = publisher;
+        this.worker = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "library-search");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public synchronized <T> void submit(Supplier<T> search, Consumer<T> publish) {
+        long generation = latest.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = worker.schedule(() -> {
+            if (generation != latest.get()) {
+                return;
+            }
+            T result;
+            try {
+                result = search.get();
+            } catch (RuntimeException e) {
+                System.err.println("Search failed: " + e.getMessage());
+                return;
+            }
+            publisher.execute(() -> {
+                if (generation == latest.get()) {
+                    publish.accept(result);
+                }
+            });
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Executor publisher() {
+        return publisher;
+    }
+
+    @Override
+    public Executor readAhead() {
+        return worker::execute;
+    }
+
+    @Override
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
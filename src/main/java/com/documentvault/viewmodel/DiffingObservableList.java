@@ -0,0 +1,145 @@
+package com.documentvault.viewmodel;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Observable list that is brought up to date by diffing rather than
+ * replacing its contents.
+ * Elements are matched by key; a version snapshot taken when an element
+ * enters the list tells whether a matched element changed since. Calling
+ * {@link #update(List)} fires a single change with only the removals,
+ * insertions and replacements needed, so bound controls keep their
+ * selection and scroll position and only touched rows are re-laid out.
+ */
+public class DiffingObservableList<T> extends ModifiableObservableListBase<T> {
+
+    private final List<T> elements = new ArrayList<>();
+    private final List<Object> versions = new ArrayList<>();
+    private final Function<? super T, ?> key;
+    private final Function<? super T, ?> version;
+
+    /**
+     * @param key identity of an element across updates
+     * @param version changes whenever an element with the same key must be redrawn
+     */
+    public DiffingObservableList(Function<? super T, ?> key, Function<? super T, ?> version) {
+        this.key = key;
+        this.version = version;
+    }
+
+    /**
+     * Makes this list equal to {@code target} with as few structural changes
+     * as possible. Elements that keep their relative order stay in place,
+     * the rest are moved, and stale elements are replaced. All changes are
+     * reported to listeners as one change transaction.
+     */
+    public void update(List<? extends T> target) {
+        Map<Object, Integer> targetIndex = new HashMap<>(target.size() * 2);
+        for (int i = 0; i < target.size(); i++) {
+            targetIndex.put(key.apply(target.get(i)), i);
+        }
+
+        // Target position of every current element, -1 if it is gone
+        int[] positions = new int[elements.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = targetIndex.getOrDefault(key.apply(elements.get(i)), -1);
+        }
+        boolean[] stays = longestIncreasingRun(positions);
+        boolean[] placed = new boolean[target.size()];
+
+        beginChange();
+        try {
+            for (int i = positions.length - 1; i >= 0; i--) {
+                if (stays[i]) {
+                    placed[positions[i]] = true;
+                } else {
+                    remove(i);
+                }
+            }
+            for (int i = 0; i < target.size(); i++) {
+                T element = target.get(i);
+                if (!placed[i]) {
+                    add(i, element);
+                } else if (elements.get(i) != element
+                        || !Objects.equals(versions.get(i), version.apply(element))) {
+                    set(i, element);
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Marks the elements of the longest strictly increasing subsequence of
+     * non-negative positions. Those elements are already in target order
+     * relative to each other and need not move. Runs in O(n log n).
+     */
+    static boolean[] longestIncreasingRun(int[] positions) {
+        int n = positions.length;
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            if (positions[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[tails[mid]] < positions[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] stays = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            stays[i] = true;
+        }
+        return stays;
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    protected void doAdd(int index, T element) {
+        elements.add(index, element);
+        versions.add(index, version.apply(element));
+    }
+
+    @Override
+    protected T doSet(int index, T element) {
+        versions.set(index, version.apply(element));
+        return elements.set(index, element);
+    }
+
+    @Override
+    protected T doRemove(int index) {
+        versions.remove(index);
+        return elements.remove(index);
+    }
+}
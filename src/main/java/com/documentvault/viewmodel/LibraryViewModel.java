@@ -2,33 +2,88 @@ package com.documentvault.viewmodel;
 
 import com.documentvault.model.Category;
 import com.documentvault.model.LibraryItem;
+import com.documentvault.model.SearchCriteria;
+import com.documentvault.model.SortField;
+import com.documentvault.service.LibraryEvent;
+import com.documentvault.service.LibraryListener;
 import com.documentvault.service.LibraryService;
 import com.documentvault.service.LibraryServiceImpl;
 import javafx.beans.property.*;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
 /**
  * ViewModel for the main library view.
  * Manages the state and data binding for the UI.
+ * The lists follow the service's change events, so edits made here or
+ * anywhere else are patched in without reloading the library. The item
+ * list holds result ordinals and materializes only the rows being shown.
  */
 public class LibraryViewModel {
 
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 8;
+
     private final LibraryService libraryService;
-    private final ObservableList<LibraryItem> items;
-    private final ObservableList<Category> categories;
+    private final PagedObservableList<LibraryItem> items;
+    private final DiffingObservableList<Category> categories;
     private final StringProperty searchQuery;
     private final ObjectProperty<Category> selectedCategory;
     private final ObjectProperty<LibraryItem.ItemType> selectedItemType;
+    private final ReadOnlyDoubleWrapper lastSearchMillis;
+    private final SearchScheduler searchScheduler;
+    private final ReadOnlyBooleanWrapper loading;
+    private final ReadOnlyIntegerWrapper loadedItemCount;
+    private final ReadOnlyBooleanWrapper savingDisabled;
+    private final LibraryListener libraryListener;
+    // Ordinals deleted since the last published search; only used on the publisher thread
+    private final Set<Integer> removedSinceSearch = new HashSet<>();
+    private SortField sortField = SortField.MODIFIED;
+    private boolean sortDescending = true;
+
+    /**
+     * Results of one search together with how long it took.
+     */
+    private record SearchOutcome(int[] ordinals, long nanos) {
+    }
 
+    /**
+     * Creates a view model that searches synchronously on the calling thread.
+     */
     public LibraryViewModel() {
+        this(SearchScheduler.immediate());
+    }
+
+    /**
+     * Creates a view model whose searches are run by the given scheduler,
+     * e.g. a {@link BackgroundSearchScheduler} to keep typing responsive.
+     */
+    public LibraryViewModel(SearchScheduler searchScheduler) {
         this.libraryService = LibraryServiceImpl.getInstance();
-        this.items = FXCollections.observableArrayList();
-        this.categories = FXCollections.observableArrayList();
+        this.searchScheduler = searchScheduler;
+        this.items = new PagedObservableList<>(rowSource(libraryService), PAGE_SIZE, CACHED_PAGES,
+                searchScheduler.readAhead());
+        // Any displayed field can change without the name changing
+        this.categories = new DiffingObservableList<>(Category::getId,
+                category -> Arrays.asList(category.getName(), category.getColor(), category.getDescription()));
         this.searchQuery = new SimpleStringProperty("");
         this.selectedCategory = new SimpleObjectProperty<>();
         this.selectedItemType = new SimpleObjectProperty<>();
-
+        this.lastSearchMillis = new ReadOnlyDoubleWrapper();
+        this.loading = new ReadOnlyBooleanWrapper(libraryService.isLoading());
+        this.loadedItemCount = new ReadOnlyIntegerWrapper();
+        this.savingDisabled = new ReadOnlyBooleanWrapper(libraryService.isSavingDisabled());
+
+        // Events may come from the loader thread; apply them where the lists live
+        Executor publisher = searchScheduler.publisher();
+        this.libraryListener = event -> publisher.execute(() -> onLibraryEvent(event));
+        libraryService.addListener(libraryListener);
         loadData();
         setupListeners();
     }
@@ -51,48 +106,171 @@ public class LibraryViewModel {
     }
 
     /**
-     * Refreshes the items list from the service.
+     * Refreshes the items list from the service in the current sort order,
+     * most recently modified first by default.
      */
     public void refreshItems() {
-        items.setAll(libraryService.getAllItems());
+        items.setKeys(libraryService.searchOrdinals(new SearchCriteria(""), sortField, sortDescending));
+    }
+
+    /**
+     * Changes the order of the item list. The service answers from its sorted
+     * indexes, so only the current filters are re-run; no rows are compared.
+     */
+    public void setSort(SortField field, boolean descending) {
+        if (field == sortField && descending == sortDescending) {
+            return;
+        }
+        sortField = field;
+        sortDescending = descending;
+        filterItems();
+    }
+
+    public SortField getSortField() {
+        return sortField;
+    }
+
+    public boolean isSortDescending() {
+        return sortDescending;
     }
 
     /**
      * Refreshes the categories list from the service.
      */
     public void refreshCategories() {
-        categories.setAll(libraryService.getAllCategories());
+        categories.update(libraryService.getAllCategories());
     }
 
     /**
      * Filters items based on current search and filter criteria.
+     * The filter inputs are read here; the search itself runs on the
+     * scheduler and only the latest result is published to {@link #getItems()}.
      */
     public void filterItems() {
-        var allItems = libraryService.getAllItems();
+        SearchCriteria criteria = currentCriteria();
+        SortField field = sortField;
+        boolean descending = sortDescending;
+        searchScheduler.submit(() -> {
+            long start = System.nanoTime();
+            int[] ordinals = libraryService.searchOrdinals(criteria, field, descending);
+            return new SearchOutcome(ordinals, System.nanoTime() - start);
+        }, outcome -> {
+            items.setKeys(withoutRemoved(outcome.ordinals()));
+            lastSearchMillis.set(outcome.nanos() / 1_000_000.0);
+        });
+    }
 
-        // Apply search filter
-        String query = searchQuery.get();
-        if (query != null && !query.trim().isEmpty()) {
-            allItems = libraryService.searchItems(query);
+    private int[] withoutRemoved(int[] ordinals) {
+        if (removedSinceSearch.isEmpty()) {
+            return ordinals;
         }
+        int[] live = Arrays.stream(ordinals).filter(ordinal -> !removedSinceSearch.contains(ordinal)).toArray();
+        // Retired ordinals are never handed out again, so a later search cannot return them
+        removedSinceSearch.clear();
+        return live;
+    }
 
-        // Apply category filter
-        Category category = selectedCategory.get();
-        if (category != null) {
-            allItems = allItems.stream()
-                    .filter(item -> category.equals(item.getCategory()))
-                    .toList();
+    /**
+     * Captures the whole filter state as one criteria, so the service can
+     * start from the most selective index instead of filtering copies here.
+     */
+    private SearchCriteria currentCriteria() {
+        return new SearchCriteria(searchQuery.get(), selectedCategory.get(), selectedItemType.get(), Set.of());
+    }
+
+    /**
+     * Patches the visible lists from a service change instead of reloading.
+     */
+    private void onLibraryEvent(LibraryEvent event) {
+        switch (event) {
+            case LibraryEvent.ItemAdded(LibraryItem item) -> place(item);
+            case LibraryEvent.ItemUpdated(LibraryItem item) -> place(item);
+            case LibraryEvent.ItemRemoved(String itemId, int ordinal) -> {
+                items.removeKey(ordinal);
+                // A search that started before the removal may still return it
+                removedSinceSearch.add(ordinal);
+            }
+            case LibraryEvent.CategoryChanged changed -> refreshCategories();
+            case LibraryEvent.BulkChange bulk -> filterItems();
+            case LibraryEvent.LoadFailed failed -> savingDisabled.set(true);
+            case LibraryEvent.LoadProgress(int loaded, boolean finished) -> {
+                loadedItemCount.set(loaded);
+                loading.set(!finished);
+                refreshCategories();
+                filterItems();
+            }
         }
+    }
 
-        // Apply type filter
-        LibraryItem.ItemType type = selectedItemType.get();
-        if (type != null) {
-            allItems = allItems.stream()
-                    .filter(item -> type.equals(item.getItemType()))
-                    .toList();
+    /**
+     * Moves an added or edited item to its newest-first position, or drops
+     * it if it no longer matches the current filters; an edited item that
+     * keeps its position is redrawn in place. Other sort orders are served
+     * by re-running the search.
+     */
+    private void place(LibraryItem item) {
+        OptionalInt ordinal = libraryService.getOrdinal(item.getId());
+        if (ordinal.isEmpty()) {
+            // Deleted again before this event was applied
+            return;
+        }
+        int current = items.indexOfKey(ordinal.getAsInt());
+        if (sortField != SortField.MODIFIED || !sortDescending) {
+            if (current >= 0) {
+                // Keys that stay put are not redrawn by the search
+                items.set(current, item);
+            }
+            filterItems();
+            return;
         }
+        if (currentCriteria().matches(item)) {
+            items.put(insertionPoint(item, current), ordinal.getAsInt(), item);
+        } else if (current >= 0) {
+            items.remove(current);
+        }
+    }
 
-        items.setAll(allItems);
+    /**
+     * First row that is not newer than the item, counted without the row at
+     * {@code exclude} (the item's own, or -1); rows are kept newest first.
+     */
+    private int insertionPoint(LibraryItem item, int exclude) {
+        int low = 0;
+        int high = exclude >= 0 ? items.size() - 1 : items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            // Rows of items deleted meanwhile resolve to null; compare the next real row
+            int probe = mid;
+            LibraryItem row = rowAt(probe, exclude);
+            while (row == null && probe + 1 < high) {
+                row = rowAt(++probe, exclude);
+            }
+            if (row != null && row.getLastModified().isAfter(item.getLastModified())) {
+                low = probe + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private LibraryItem rowAt(int index, int exclude) {
+        return items.get(exclude >= 0 && index >= exclude ? index + 1 : index);
+    }
+
+    private static PagedObservableList.RowSource<LibraryItem> rowSource(LibraryService service) {
+        return new PagedObservableList.RowSource<>() {
+            @Override
+            public List<LibraryItem> fetch(int[] ordinals) {
+                return service.getItemsByOrdinals(ordinals);
+            }
+
+            @Override
+            public int keyOf(LibraryItem item) {
+                return service.getOrdinal(item.getId()).orElseThrow(
+                        () -> new IllegalArgumentException("Item is not in the library: " + item.getId()));
+            }
+        };
     }
 
     /**
@@ -100,7 +278,6 @@ public class LibraryViewModel {
      */
     public void addItem(LibraryItem item) {
         libraryService.addItem(item);
-        refreshItems();
     }
 
     /**
@@ -108,7 +285,6 @@ public class LibraryViewModel {
      */
     public void updateItem(LibraryItem item) {
         libraryService.updateItem(item);
-        refreshItems();
     }
 
     /**
@@ -116,7 +292,6 @@ public class LibraryViewModel {
      */
     public void deleteItem(String itemId) {
         libraryService.deleteItem(itemId);
-        refreshItems();
     }
 
     /**
@@ -124,7 +299,6 @@ public class LibraryViewModel {
      */
     public void addCategory(Category category) {
         libraryService.addCategory(category);
-        refreshCategories();
     }
 
     /**
@@ -132,7 +306,6 @@ public class LibraryViewModel {
      */
     public void updateCategory(Category category) {
         libraryService.updateCategory(category);
-        refreshCategories();
     }
 
     /**
@@ -140,8 +313,6 @@ public class LibraryViewModel {
      */
     public void deleteCategory(String categoryId) {
         libraryService.deleteCategory(categoryId);
-        refreshCategories();
-        refreshItems(); // Refresh items as category references may have changed
     }
 
     // Property getters
@@ -190,6 +361,55 @@ public class LibraryViewModel {
         selectedItemType.set(type);
     }
 
+    /**
+     * Duration of the most recently published search in milliseconds.
+     */
+    public ReadOnlyDoubleProperty lastSearchMillisProperty() {
+        return lastSearchMillis.getReadOnlyProperty();
+    }
+
+    public double getLastSearchMillis() {
+        return lastSearchMillis.get();
+    }
+
+    /**
+     * Whether the library is still loading in the background.
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Items loaded so far by a background load.
+     */
+    public ReadOnlyIntegerProperty loadedItemCountProperty() {
+        return loadedItemCount.getReadOnlyProperty();
+    }
+
+    /**
+     * Whether edits are kept in memory only because the library failed to
+     * load completely.
+     */
+    public ReadOnlyBooleanProperty savingDisabledProperty() {
+        return savingDisabled.getReadOnlyProperty();
+    }
+
+    public boolean isSavingDisabled() {
+        return savingDisabled.get();
+    }
+
+    /**
+     * Stops background search workers.
+     */
+    public void shutdown() {
+        libraryService.removeListener(libraryListener);
+        searchScheduler.shutdown();
+    }
+
     /**
      * Gets statistics about the library.
      */
@@ -0,0 +1,363 @@
+package com.documentvault.viewmodel;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Observable list that holds only an ordered array of int keys and
+ * materializes rows on demand.
+ * Rows are fetched a page at a time as a virtualized control asks for them
+ * and kept in a bounded LRU cache, while the pages either side of the last
+ * one read are fetched ahead on a background executor. Heap use grows with
+ * the number of rows on screen, not with the size of the list. Keys must be
+ * non-negative; each key's position is tracked so rows can be found and
+ * removed by key without a scan.
+ */
+public class PagedObservableList<T> extends ModifiableObservableListBase<T> {
+
+    /**
+     * Resolves keys to rows. Called from the list's thread and from the
+     * prefetch executor, so implementations must be thread-safe.
+     */
+    public interface RowSource<T> {
+
+        /**
+         * Returns the rows for the keys, in the same order.
+         */
+        List<T> fetch(int[] keys);
+
+        /**
+         * Returns the key of a row being inserted into the list.
+         */
+        int keyOf(T row);
+    }
+
+    private final RowSource<T> source;
+    private final int pageSize;
+    private final Executor prefetcher;
+    private final Map<Integer, T> rows;
+    private final Set<Integer> prefetching = ConcurrentHashMap.newKeySet();
+    private int[] keys = new int[0];
+    // Position of each key in keys, -1 for keys not in the list
+    private int[] positions = new int[0];
+    private int size;
+    private int lastPage = -1;
+    // Bumped on every structural change so late prefetches are dropped
+    private volatile long epoch;
+
+    /**
+     * @param pageSize rows fetched per request
+     * @param cachedPages how many pages worth of rows are kept
+     * @param prefetcher runs read-ahead fetches of neighbouring pages
+     */
+    public PagedObservableList(RowSource<T> source, int pageSize, int cachedPages, Executor prefetcher) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetcher = prefetcher;
+        int capacity = pageSize * cachedPages;
+        this.rows = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Replaces the contents with the rows for {@code newKeys}. The old and
+     * new keys are diffed like {@link DiffingObservableList#update(List)}
+     * does: rows whose keys keep their relative order stay, and listeners
+     * see one change with only the runs of rows removed and inserted, so
+     * bound controls keep their selection and scroll position. Removed
+     * rows are resolved lazily if asked for.
+     */
+    public void setKeys(int[] newKeys) {
+        // Old position of every new key, -1 for keys not in the list
+        int[] oldPositions = new int[newKeys.length];
+        for (int i = 0; i < newKeys.length; i++) {
+            oldPositions[i] = indexOfKey(newKeys[i]);
+        }
+        boolean[] stays = DiffingObservableList.longestIncreasingRun(oldPositions);
+
+        int oldSize = size;
+        List<T> removed = snapshot();
+        forgetPositions(0);
+        keys = newKeys.clone();
+        size = newKeys.length;
+        recordPositions(0);
+        invalidate();
+        rows.clear();
+        beginChange();
+        try {
+            // Each gap between staying rows loses its old rows and gains its
+            // new ones at the same position. Gaps are reported front to
+            // back, which the change builder appends in constant time.
+            int oldFrom = 0;
+            int newFrom = 0;
+            for (int i = 0; i <= newKeys.length; i++) {
+                if (i < newKeys.length && !stays[i]) {
+                    continue;
+                }
+                int oldTo = i < newKeys.length ? oldPositions[i] : oldSize;
+                if (oldFrom < oldTo) {
+                    nextRemove(newFrom, removed.subList(oldFrom, oldTo));
+                }
+                if (newFrom < i) {
+                    nextAdd(newFrom, i);
+                }
+                oldFrom = oldTo + 1;
+                newFrom = i + 1;
+            }
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Returns the position of the row with the given key, or -1.
+     */
+    public int indexOfKey(int key) {
+        return key >= 0 && key < positions.length ? positions[key] : -1;
+    }
+
+    /**
+     * Removes the row with the given key, if present.
+     *
+     * @return true if a row was removed
+     */
+    public boolean removeKey(int key) {
+        int index = indexOfKey(key);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Inserts a row whose key the caller already knows, so the row source
+     * is not asked to resolve it.
+     */
+    public void add(int index, int key, T row) {
+        insert(index, key, row);
+        beginChange();
+        try {
+            nextAdd(index, index + 1);
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Puts a row whose key the caller already knows at {@code index},
+     * counted among the other rows. A row with that key already at the
+     * position is replaced in place; one elsewhere is moved. Listeners see
+     * a single change either way.
+     */
+    public void put(int index, int key, T row) {
+        int current = indexOfKey(key);
+        beginChange();
+        try {
+            if (current == index) {
+                set(index, row);
+            } else {
+                if (current >= 0) {
+                    remove(current);
+                }
+                add(index, key, row);
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / pageSize;
+        T row = rows.get(keys[index]);
+        if (row == null) {
+            row = load(page).get(index - page * pageSize);
+        }
+        if (page != lastPage) {
+            lastPage = page;
+            prefetch(page - 1);
+            prefetch(page + 1);
+        }
+        return row;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        List<T> removed = snapshot();
+        forgetPositions(0);
+        keys = new int[0];
+        size = 0;
+        invalidate();
+        rows.clear();
+        beginChange();
+        try {
+            nextRemove(0, removed);
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    protected void doAdd(int index, T element) {
+        insert(index, source.keyOf(element), element);
+    }
+
+    @Override
+    protected T doSet(int index, T element) {
+        T previous = get(index);
+        rows.remove(keys[index]);
+        positions[keys[index]] = -1;
+        keys[index] = source.keyOf(element);
+        recordPosition(index);
+        invalidate();
+        rows.put(keys[index], element);
+        return previous;
+    }
+
+    @Override
+    protected T doRemove(int index) {
+        T previous = get(index);
+        rows.remove(keys[index]);
+        positions[keys[index]] = -1;
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        size--;
+        recordPositions(index);
+        invalidate();
+        return previous;
+    }
+
+    private void insert(int index, int key, T row) {
+        Objects.checkIndex(index, size + 1);
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(16, size * 2));
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        keys[index] = key;
+        size++;
+        recordPositions(index);
+        invalidate();
+        rows.put(key, row);
+    }
+
+    /**
+     * Records the positions of the rows from {@code from} to the end, which
+     * are the ones an insertion or removal shifts.
+     */
+    private void recordPositions(int from) {
+        for (int i = from; i < size; i++) {
+            recordPosition(i);
+        }
+    }
+
+    private void recordPosition(int index) {
+        int key = keys[index];
+        if (key >= positions.length) {
+            int grownFrom = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(key + 1, grownFrom * 2));
+            Arrays.fill(positions, grownFrom, positions.length, -1);
+        }
+        positions[key] = index;
+    }
+
+    private void forgetPositions(int from) {
+        for (int i = from; i < size; i++) {
+            positions[keys[i]] = -1;
+        }
+    }
+
+    private void invalidate() {
+        epoch++;
+        lastPage = -1;
+        prefetching.clear();
+    }
+
+    private int[] pageKeys(int page) {
+        int from = page * pageSize;
+        return Arrays.copyOfRange(keys, from, Math.min(size, from + pageSize));
+    }
+
+    private List<T> load(int page) {
+        int[] pageKeys = pageKeys(page);
+        List<T> fetched = source.fetch(pageKeys);
+        cache(pageKeys, fetched);
+        return fetched;
+    }
+
+    private void cache(int[] pageKeys, List<T> fetched) {
+        for (int i = 0; i < pageKeys.length; i++) {
+            if (fetched.get(i) != null) {
+                rows.put(pageKeys[i], fetched.get(i));
+            }
+        }
+    }
+
+    private void prefetch(int page) {
+        if (page < 0 || page * pageSize >= size) {
+            return;
+        }
+        int[] pageKeys = pageKeys(page);
+        if (rows.containsKey(pageKeys[0]) && rows.containsKey(pageKeys[pageKeys.length - 1])
+                || !prefetching.add(page)) {
+            return;
+        }
+        long expected = epoch;
+        prefetcher.execute(() -> {
+            List<T> fetched = source.fetch(pageKeys);
+            if (epoch == expected) {
+                cache(pageKeys, fetched);
+            }
+            prefetching.remove(page);
+        });
+    }
+
+    /**
+     * Freezes the current rows for a change notification. Cached rows are
+     * carried over; the rest are fetched only if a listener reads them.
+     */
+    private List<T> snapshot() {
+        int[] frozenKeys = Arrays.copyOf(keys, size);
+        Map<Integer, T> frozenRows;
+        synchronized (rows) {
+            frozenRows = new HashMap<>(rows);
+        }
+        return new AbstractList<>() {
+            @Override
+            public T get(int index) {
+                T row = frozenRows.get(frozenKeys[index]);
+                return row != null ? row : source.fetch(new int[]{frozenKeys[index]}).get(0);
+            }
+
+            @Override
+            public int size() {
+                return frozenKeys.length;
+            }
+        };
+    }
+}
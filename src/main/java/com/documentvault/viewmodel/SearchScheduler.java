@@ -0,0 +1,54 @@
+package com.documentvault.viewmodel;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decides where and when the view model's searches run.
+ * A newly submitted search supersedes any search that has not published
+ * yet; only the latest submission's result is ever delivered.
+ */
+public interface SearchScheduler {
+
+    /**
+     * Schedules a search and hands its result to {@code publish}.
+     */
+    <T> void submit(Supplier<T> search, Consumer<T> publish);
+
+    /**
+     * Stops any worker threads. Pending searches are dropped.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Executor that hands work to the thread owning the view model's state,
+     * used for search results and for service events raised elsewhere.
+     * Runs tasks inline by default.
+     */
+    default Executor publisher() {
+        return Runnable::run;
+    }
+
+    /**
+     * Executor for read-ahead work whose result is optional, such as page
+     * prefetches. Runs tasks inline unless the scheduler has a worker.
+     */
+    default Executor readAhead() {
+        return Runnable::run;
+    }
+
+    /**
+     * Runs each search immediately on the calling thread.
+     * Used when no UI toolkit is running, e.g. in tests.
+     */
+    static SearchScheduler immediate() {
+        return new SearchScheduler() {
+            @Override
+            public <T> void submit(Supplier<T> search, Consumer<T> publish) {
+                publish.accept(search.get());
+            }
+        };
+    }
+}
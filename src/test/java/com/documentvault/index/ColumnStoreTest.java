@@ -0,0 +1,156 @@
+package com.documentvault.index;
+
+import com.documentvault.model.DateField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.MediaLink;
+import com.documentvault.model.Note;
+import com.documentvault.model.NumericField;
+import com.documentvault.model.PdfDocument;
+import com.documentvault.model.TextSnippet;
+import com.documentvault.model.Timestamps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnStore.
+ * Drives the store through LibraryIndex and checks its scans against the
+ * same computations over the item objects.
+ */
+@DisplayName("ColumnStore Tests")
+class ColumnStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("Should sum numeric fields over the items that carry them")
+    void testScans() {
+        LibraryIndex index = new LibraryIndex();
+        PdfDocument pdf = new PdfDocument();
+        pdf.setPageCount(10);
+        pdf.setFileSize(2048);
+        PdfDocument emptyPdf = new PdfDocument();
+        MediaLink media = new MediaLink();
+        media.setDurationMinutes(45);
+        index.index(pdf);
+        index.index(emptyPdf);
+        index.index(media);
+        index.index(new Note());
+        index.index(new TextSnippet());
+
+        ColumnStore columns = index.columns();
+        assertThat(columns.length()).isEqualTo(5);
+        assertThat(columns.sum(NumericField.PAGE_COUNT)).isEqualTo(10);
+        assertThat(columns.sum(NumericField.FILE_SIZE)).isEqualTo(2048);
+        assertThat(columns.sum(NumericField.DURATION_MINUTES)).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Should follow re-indexing and vacate removed slots")
+    void testUpdatesAndRemovals() {
+        LibraryIndex index = new LibraryIndex();
+        PdfDocument pdf = new PdfDocument();
+        pdf.setPageCount(10);
+        Note note = new Note();
+        index.index(pdf);
+        index.index(note);
+
+        pdf.setPageCount(25);
+        index.index(pdf);
+        assertThat(index.columns().sum(NumericField.PAGE_COUNT)).isEqualTo(25);
+
+        index.remove(pdf.getItemId());
+        ColumnStore columns = index.columns();
+        assertThat(columns.sum(NumericField.PAGE_COUNT)).isZero();
+        assertThat(columns.countBetween(DateField.CREATED, Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(1);
+        assertThat(columns.countBetween(DateField.MODIFIED,
+                note.getLastModifiedTimestamp(), note.getLastModifiedTimestamp())).isEqualTo(1);
+
+        // The vacated slot stays retired; the next item gets a new one
+        MediaLink media = new MediaLink();
+        media.setDurationMinutes(5);
+        index.index(media);
+        assertThat(columns.length()).isEqualTo(3);
+        assertThat(columns.sum(NumericField.DURATION_MINUTES)).isEqualTo(5);
+
+        index.clear();
+        assertThat(columns.length()).isZero();
+        assertThat(columns.sum(NumericField.DURATION_MINUTES)).isZero();
+        assertThat(columns.countBetween(DateField.MODIFIED, Long.MIN_VALUE, Long.MAX_VALUE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count timestamps in inclusive ranges and skip missing ones")
+    void testDateRanges() {
+        LibraryIndex index = new LibraryIndex();
+        for (int day = 0; day < 10; day++) {
+            Note note = new Note();
+            note.setDateAdded(BASE.plusDays(day));
+            index.index(note);
+        }
+        Note undated = new Note();
+        undated.setDateAdded(null);
+        index.index(undated);
+
+        ColumnStore columns = index.columns();
+        assertThat(columns.countBetween(DateField.CREATED,
+                Timestamps.encode(BASE.plusDays(2)), Timestamps.encode(BASE.plusDays(4)))).isEqualTo(3);
+        assertThat(columns.countBetween(DateField.CREATED, Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(10);
+        assertThat(columns.countBetween(DateField.CREATED, Long.MIN_VALUE, Timestamps.encode(BASE))).isEqualTo(1);
+        assertThat(columns.countBetween(DateField.CREATED,
+                Timestamps.encode(BASE.plusDays(9)), Long.MAX_VALUE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match scans over the items after random updates")
+    void testRandomAgainstItems() {
+        Random random = new Random(7);
+        LibraryIndex index = new LibraryIndex();
+        List<LibraryItem> items = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            if (!items.isEmpty() && random.nextInt(4) == 0) {
+                LibraryItem removed = items.remove(random.nextInt(items.size()));
+                index.remove(removed.getItemId());
+                continue;
+            }
+            LibraryItem item = switch (random.nextInt(3)) {
+                case 0 -> {
+                    PdfDocument pdf = new PdfDocument();
+                    pdf.setPageCount(random.nextInt(500));
+                    yield pdf;
+                }
+                case 1 -> {
+                    MediaLink media = new MediaLink();
+                    media.setDurationMinutes(random.nextInt(120));
+                    yield media;
+                }
+                default -> new Note();
+            };
+            item.setDateAdded(BASE.plusMinutes(random.nextInt(10_000)));
+            index.index(item);
+            items.add(item);
+        }
+
+        ColumnStore columns = index.columns();
+        assertThat(columns.countBetween(DateField.CREATED, Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(items.size());
+        assertThat(columns.sum(NumericField.PAGE_COUNT)).isEqualTo(items.stream()
+                .filter(PdfDocument.class::isInstance)
+                .mapToLong(item -> ((PdfDocument) item).getPageCount()).sum());
+        assertThat(columns.sum(NumericField.DURATION_MINUTES)).isEqualTo(items.stream()
+                .filter(MediaLink.class::isInstance)
+                .mapToLong(item -> ((MediaLink) item).getDurationMinutes()).sum());
+
+        LocalDateTime from = BASE.plusMinutes(2_500);
+        LocalDateTime to = BASE.plusMinutes(7_500);
+        assertThat(columns.countBetween(DateField.CREATED, Timestamps.encode(from), Timestamps.encode(to)))
+                .isEqualTo((int) items.stream()
+                        .filter(item -> !item.getDateAdded().isBefore(from) && !item.getDateAdded().isAfter(to))
+                        .count());
+    }
+}
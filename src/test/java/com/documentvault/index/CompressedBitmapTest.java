@@ -0,0 +1,213 @@
+package com.documentvault.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CompressedBitmap.
+ * Tests container transitions and checks every operation against
+ * java.util.BitSet on random sparse, dense and contiguous data.
+ */
+@DisplayName("CompressedBitmap Tests")
+class CompressedBitmapTest {
+
+    private static final int UNIVERSE = 3 << 16;
+
+    /**
+     * Builds matching bitmaps with a mix of sparse, dense and run-shaped chunks.
+     */
+    private static BitSet randomBits(Random random) {
+        BitSet bits = new BitSet();
+        for (int chunk = 0; chunk < UNIVERSE >>> 16; chunk++) {
+            int base = chunk << 16;
+            switch (random.nextInt(4)) {
+                case 0 -> random.ints(200, 0, 1 << 16).forEach(v -> bits.set(base + v));
+                case 1 -> random.ints(20_000, 0, 1 << 16).forEach(v -> bits.set(base + v));
+                case 2 -> {
+                    int start = random.nextInt(1 << 15);
+                    bits.set(base + start, base + start + random.nextInt(1 << 15));
+                }
+                default -> {
+                    // leave the chunk empty
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static CompressedBitmap toBitmap(BitSet bits, boolean optimize) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bits.stream().forEach(bitmap::add);
+        if (optimize) {
+            bitmap.runOptimize();
+        }
+        return bitmap;
+    }
+
+    private static BitSet toBitSet(CompressedBitmap bitmap) {
+        BitSet bits = new BitSet();
+        bitmap.forEach(bits::set);
+        return bits;
+    }
+
+    @Test
+    @DisplayName("Should add, remove and test single values")
+    void testSingleValues() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(5);
+        bitmap.add(70_000);
+        bitmap.add(5);
+
+        assertThat(bitmap.contains(5)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(6)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+
+        bitmap.remove(5);
+        bitmap.remove(123);
+
+        assertThat(bitmap.toArray()).containsExactly(70_000);
+        bitmap.remove(70_000);
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should switch between array and bitmap containers")
+    void testContainerTransitions() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 10_000; i += 2) {
+            bitmap.add(i);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+
+        for (int i = 0; i < 10_000; i += 4) {
+            bitmap.remove(i);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(2_500);
+        assertThat(bitmap.contains(2)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+        assertThat(bitmap.nextSetBit(3)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should compress contiguous ranges into runs")
+    void testRunOptimize() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 1_000_000; i++) {
+            bitmap.add(i);
+        }
+        long before = bitmap.sizeInBytes();
+
+        bitmap.runOptimize();
+
+        assertThat(bitmap.sizeInBytes()).isLessThan(before / 100);
+        assertThat(bitmap.cardinality()).isEqualTo(1_000_000);
+        assertThat(bitmap.nextClearBit(0)).isEqualTo(1_000_000);
+
+        bitmap.remove(500_000);
+
+        assertThat(bitmap.contains(500_000)).isFalse();
+        assertThat(bitmap.nextClearBit(0)).isEqualTo(500_000);
+        assertThat(bitmap.cardinality()).isEqualTo(999_999);
+    }
+
+    @Test
+    @DisplayName("Should keep sparse posting lists small")
+    void testSparseFootprint() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 1_000; i++) {
+            bitmap.add(i * 1_000);
+        }
+
+        // A few bytes per value, where a BitSet would need ~125 KB
+        assertThat(bitmap.sizeInBytes()).isLessThan(6_000);
+    }
+
+    @Test
+    @DisplayName("Should match BitSet for iteration and clear-bit search")
+    void testIterationAgainstBitSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            BitSet expected = randomBits(random);
+            CompressedBitmap bitmap = toBitmap(expected, round % 2 == 0);
+
+            assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+            assertThat(toBitSet(bitmap)).isEqualTo(expected);
+            for (int probe = 0; probe < 200; probe++) {
+                int from = random.nextInt(UNIVERSE + 10);
+                assertThat(bitmap.nextSetBit(from)).isEqualTo(expected.nextSetBit(from));
+                assertThat(bitmap.nextClearBit(from)).isEqualTo(expected.nextClearBit(from));
+                assertThat(bitmap.contains(from)).isEqualTo(expected.get(from));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match BitSet for AND, OR and ANDNOT")
+    void testSetOperationsAgainstBitSet() {
+        Random random = new Random(7);
+        for (int round = 0; round < 30; round++) {
+            BitSet left = randomBits(random);
+            BitSet right = randomBits(random);
+            CompressedBitmap a = toBitmap(left, round % 3 == 0);
+            CompressedBitmap b = toBitmap(right, round % 2 == 0);
+
+            CompressedBitmap and = a.copy();
+            and.and(b);
+            CompressedBitmap or = a.copy();
+            or.or(b);
+            CompressedBitmap andNot = a.copy();
+            andNot.andNot(b);
+
+            BitSet expectedAnd = (BitSet) left.clone();
+            expectedAnd.and(right);
+            BitSet expectedOr = (BitSet) left.clone();
+            expectedOr.or(right);
+            BitSet expectedAndNot = (BitSet) left.clone();
+            expectedAndNot.andNot(right);
+
+            assertThat(toBitSet(and)).isEqualTo(expectedAnd);
+            assertThat(toBitSet(or)).isEqualTo(expectedOr);
+            assertThat(toBitSet(andNot)).isEqualTo(expectedAndNot);
+            assertThat(and.cardinality()).isEqualTo(expectedAnd.cardinality());
+            assertThat(toBitSet(a)).as("left operand untouched").isEqualTo(left);
+            assertThat(toBitSet(b)).as("right operand untouched").isEqualTo(right);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not share containers between copies")
+    void testCopyIsIndependent() {
+        CompressedBitmap original = CompressedBitmap.of(1, 2, 3);
+        CompressedBitmap copy = original.copy();
+        CompressedBitmap union = new CompressedBitmap();
+        union.or(original);
+
+        copy.add(4);
+        union.remove(1);
+
+        assertThat(original.toArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should compare by content regardless of container type")
+    void testEquality() {
+        CompressedBitmap plain = new CompressedBitmap();
+        for (int i = 100; i < 10_000; i++) {
+            plain.add(i);
+        }
+        CompressedBitmap optimized = plain.copy();
+        optimized.runOptimize();
+
+        assertThat(optimized).isEqualTo(plain).hasSameHashCodeAs(plain);
+        optimized.remove(100);
+        assertThat(optimized).isNotEqualTo(plain);
+        assertThat(CompressedBitmap.of(3, 1, 2)).hasToString("{1, 2, 3}");
+    }
+}
@@ -0,0 +1,52 @@
+package com.documentvault.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FacetIndex.
+ * Checks case-insensitive matching and that the spelling shown for a
+ * value follows the items that still carry it.
+ */
+@DisplayName("FacetIndex Tests")
+class FacetIndexTest {
+
+    @Test
+    @DisplayName("Should match values case-insensitively in sorted order")
+    void testLookup() {
+        FacetIndex index = new FacetIndex();
+        index.add("YouTube", 0);
+        index.add("youtube ", 1);
+        index.add("Coursera", 2);
+
+        assertThat(index.get("YOUTUBE").cardinality()).isEqualTo(2);
+        assertThat(index.get("missing").isEmpty()).isTrue();
+        assertThat(index.values()).containsExactly("Coursera", "youtube");
+    }
+
+    @Test
+    @DisplayName("Should fall back to a live spelling when its item is removed")
+    void testSpellingFollowsRemovals() {
+        FacetIndex index = new FacetIndex();
+        index.add("YouTube", 0);
+        index.add("YouTube", 1);
+        index.add("YOUTUBE", 2);
+
+        assertThat(index.values()).containsExactly("YOUTUBE");
+
+        index.remove("YOUTUBE", 2);
+
+        assertThat(index.values()).containsExactly("YouTube");
+
+        index.remove("YouTube", 0);
+
+        assertThat(index.values()).containsExactly("YouTube");
+
+        index.remove("YouTube", 1);
+
+        assertThat(index.values()).isEmpty();
+        assertThat(index.get("youtube").isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.documentvault.index;
+
+import com.documentvault.model.ItemId;
+import com.documentvault.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for IdOrdinalMap.
+ * Checks puts, removals and growth against java.util.HashMap on random
+ * operation sequences.
+ */
+@DisplayName("IdOrdinalMap Tests")
+class IdOrdinalMapTest {
+
+    @Test
+    @DisplayName("Should put, replace, get and remove ids")
+    void testBasicOperations() {
+        IdOrdinalMap map = new IdOrdinalMap();
+        ItemId first = ItemId.of(IdGenerator.timeOrdered());
+        ItemId second = ItemId.parse("legacy-id");
+
+        assertThat(map.put(first, 0)).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.put(second, 1)).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.put(first, 5)).isEqualTo(0);
+
+        assertThat(map.get(first)).isEqualTo(5);
+        assertThat(map.get(ItemId.parse("legacy-id"))).isEqualTo(1);
+        assertThat(map.get(ItemId.parse("missing"))).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.get(null)).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.remove(first)).isEqualTo(5);
+        assertThat(map.remove(first)).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.get(first)).isEqualTo(IdOrdinalMap.ABSENT);
+        assertThat(map.size()).isEqualTo(1);
+        assertThatThrownBy(() -> map.put(first, -2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should match HashMap across random puts and removals")
+    void testAgainstHashMap() {
+        Random random = new Random(42);
+        List<ItemId> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Few distinct high halves, as with ids created in the same millisecond
+            ids.add(new ItemId(random.nextInt(4), random.nextLong(), null));
+        }
+        IdOrdinalMap map = new IdOrdinalMap();
+        Map<ItemId, Integer> expected = new HashMap<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            ItemId id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(id);
+                assertThat(map.remove(id)).isEqualTo(removed != null ? removed : IdOrdinalMap.ABSENT);
+            } else {
+                int ordinal = random.nextInt(1_000_000);
+                Integer previous = expected.put(id, ordinal);
+                assertThat(map.put(id, ordinal)).isEqualTo(previous != null ? previous : IdOrdinalMap.ABSENT);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (ItemId id : ids) {
+            assertThat(map.get(id)).isEqualTo(expected.getOrDefault(id, IdOrdinalMap.ABSENT));
+        }
+    }
+
+    @Test
+    @DisplayName("Should start over after clear")
+    void testClear() {
+        IdOrdinalMap map = new IdOrdinalMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(ItemId.of(IdGenerator.timeOrdered()), i);
+        }
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        ItemId id = ItemId.of(IdGenerator.timeOrdered());
+        map.put(id, 7);
+        assertThat(map.get(id)).isEqualTo(7);
+    }
+}
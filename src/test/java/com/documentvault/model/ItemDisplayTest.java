@@ -0,0 +1,79 @@
+package com.documentvault.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ItemDisplay.
+ * Checks the single-pass preview and line count against the regex and split
+ * based implementations they replace.
+ */
+@DisplayName("ItemDisplay Tests")
+class ItemDisplayTest {
+
+    private static final char[] ALPHABET = {'a', 'b', ' ', ' ', '\t', '\n', '\r', '\u000B', '\u0001', 'é'};
+
+    private static String randomText(Random random) {
+        char[] text = new char[random.nextInt(240)];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(text);
+    }
+
+    private static String regexPreview(String content) {
+        String stripped = content.replaceAll("\\s+", " ").trim();
+        return stripped.length() > 100 ? stripped.substring(0, 97) + "..." : stripped;
+    }
+
+    @Test
+    @DisplayName("Should match regex whitespace collapsing for previews")
+    void testPreviewAgainstRegex() {
+        Random random = new Random(42);
+        for (int round = 0; round < 5_000; round++) {
+            String content = randomText(random);
+            if (content.isEmpty()) {
+                continue;
+            }
+
+            assertThat(ItemDisplay.preview(content, "Empty"))
+                    .as("preview of %s", content.chars().boxed().toList())
+                    .isEqualTo(regexPreview(content));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep content that trims back under the limit")
+    void testPreviewTrailingControlCharacters() {
+        String content = "x".repeat(100) + "\u0001\u0002";
+
+        assertThat(ItemDisplay.preview(content, "Empty")).isEqualTo("x".repeat(100));
+        assertThat(ItemDisplay.preview(content + "y", "Empty")).isEqualTo("x".repeat(97) + "...");
+    }
+
+    @Test
+    @DisplayName("Should count lines like split on newlines")
+    void testLineCountAgainstSplit() {
+        Random random = new Random(7);
+        for (int round = 0; round < 5_000; round++) {
+            String content = randomText(random);
+            int expected = content.isEmpty() ? 0 : content.split("\n").length;
+
+            assertThat(ItemDisplay.lineCount(content)).isEqualTo(expected);
+        }
+        assertThat(ItemDisplay.lineCount("\n\n")).isZero();
+        assertThat(ItemDisplay.lineCount("a\n\nb\n")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should use the empty text for missing content")
+    void testEmptyPreview() {
+        assertThat(ItemDisplay.preview(null, "Empty note")).isEqualTo("Empty note");
+        assertThat(ItemDisplay.preview("", "Empty note")).isEqualTo("Empty note");
+        assertThat(new TextSnippet().getDisplay().preview()).isEqualTo("Empty snippet");
+    }
+}
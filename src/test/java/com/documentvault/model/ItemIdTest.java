@@ -0,0 +1,44 @@
+package com.documentvault.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ItemId.
+ * Tests that ids keep their exact text while UUIDs are held as two longs.
+ */
+@DisplayName("ItemId Tests")
+class ItemIdTest {
+
+    @Test
+    @DisplayName("Should hold canonical UUIDs as bits only")
+    void testCanonicalUuid() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID uuid = UUID.randomUUID();
+
+            ItemId id = ItemId.parse(uuid.toString());
+
+            assertThat(id.text()).isNull();
+            assertThat(id.high()).isEqualTo(uuid.getMostSignificantBits());
+            assertThat(id.low()).isEqualTo(uuid.getLeastSignificantBits());
+            assertThat(id).hasToString(uuid.toString()).isEqualTo(ItemId.of(uuid));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the text of ids that are not canonical UUIDs")
+    void testOtherIds() {
+        String upperCase = "3F2504E0-4F89-11D3-9A0C-0305E82C3301";
+
+        assertThat(ItemId.parse("note-1")).hasToString("note-1");
+        assertThat(ItemId.parse(upperCase)).hasToString(upperCase);
+        assertThat(ItemId.parse(upperCase)).isNotEqualTo(ItemId.parse(upperCase.toLowerCase()));
+        assertThat(ItemId.parse("note-1")).isEqualTo(ItemId.parse("note-1"))
+                .isNotEqualTo(ItemId.parse("note-2"));
+        assertThat(ItemId.parse(null)).isNull();
+    }
+}
@@ -1,11 +1,13 @@
 package com.documentvault.model;
 
+import com.documentvault.util.DateUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
@@ -528,4 +530,120 @@ class LibraryItemTest {
 
         assertThat(item.getItemType()).isEqualTo(LibraryItem.ItemType.PDF);
     }
+
+    @Test
+    @DisplayName("Should reuse display values until the item changes")
+    void testDisplayCachedPerVersion() {
+        ((Note) item).setContent("first");
+        ItemDisplay display = item.getDisplay();
+
+        assertThat(item.getDisplay()).isSameAs(display);
+        assertThat(display.preview()).isEqualTo("first");
+
+        ((Note) item).setContent("second");
+
+        assertThat(item.getVersion()).isGreaterThan(display.version());
+        assertThat(item.getDisplay()).isNotSameAs(display);
+        assertThat(item.getDisplay().description()).isEqualTo("Note: second");
+    }
+
+    @Test
+    @DisplayName("Should refold searchable text when the item or its category changes")
+    void testFoldedTextCachedPerVersion() {
+        Category category = new Category("Work");
+        item.setCategory(category);
+        ((Note) item).setContent("Hello WORLD");
+        FoldedText folded = item.getFoldedText();
+
+        assertThat(item.getFoldedText()).isSameAs(folded);
+        assertThat(folded.contains("hello world")).isTrue();
+        assertThat(folded.contains("work")).isTrue();
+
+        category.setName("Personal");
+
+        assertThat(item.getFoldedText()).isNotSameAs(folded);
+        assertThat(item.getFoldedText().contains("personal")).isTrue();
+        assertThat(item.getFoldedText().contains("work")).isFalse();
+
+        ((Note) item).setContent("Goodbye");
+
+        assertThat(item.getFoldedText().contains("hello")).isFalse();
+        assertThat(item.getFoldedText().contains("goodbye")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should match folded patterns in Latin-1 and wider text")
+    void testFoldedTextEncoding() {
+        FoldedText latin1 = FoldedText.of("Café CRÈME");
+        FoldedText wide = FoldedText.of("Ελληνικά and café");
+
+        assertThat(latin1.contains("crème")).isTrue();
+        assertThat(latin1.contains("ελλ")).isFalse();
+        assertThat(latin1.contains("")).isTrue();
+        assertThat(wide.contains("ελληνικά")).isTrue();
+        assertThat(wide.contains("café")).isTrue();
+        assertThat(wide.length()).isEqualTo("Ελληνικά and café".length());
+    }
+
+    @Test
+    @DisplayName("Should refresh display values on changes that do not touch the item")
+    void testDisplayRefreshedWithoutTouch() {
+        PdfDocument pdf = new PdfDocument();
+        pdf.setFilePath("/docs/book.pdf");
+        assertThat(pdf.getDisplay().icon()).isEqualTo("📄");
+        LocalDateTime modified = pdf.getLastModified();
+
+        pdf.setPageCount(250);
+        LocalDateTime added = LocalDateTime.of(2024, 3, 1, 9, 30);
+        pdf.setDateAdded(added);
+
+        assertThat(pdf.getLastModified()).isEqualTo(modified);
+        assertThat(pdf.getDisplay().icon()).isEqualTo("📚");
+        assertThat(pdf.getDisplay().description()).isEqualTo("PDF: book.pdf (250 pages)");
+        assertThat(pdf.getDisplay().dateAdded()).isEqualTo(DateUtil.formatDateTime(added));
+    }
+
+    @Test
+    @DisplayName("Should advance the version on every mutating setter")
+    void testVersionAdvancesOnEveryChange() {
+        PdfDocument pdf = new PdfDocument();
+        MediaLink media = new MediaLink();
+        List<Runnable> changes = List.of(
+                () -> item.setId("id"),
+                () -> item.setTitle("Title"),
+                () -> item.setDescription("Description"),
+                () -> item.setCategory(new Category("Category")),
+                () -> item.setTags(Set.of("tag")),
+                () -> item.addTag("other"),
+                () -> item.removeTag("other"),
+                () -> item.setDateAdded(LocalDateTime.now()),
+                () -> item.setLastModified(item.getLastModified()),
+                () -> item.setItemType(LibraryItem.ItemType.NOTE),
+                () -> ((Note) item).setContent("Content"),
+                () -> ((Note) item).setMarkdown(true),
+                () -> pdf.setFileSize(1_024),
+                () -> pdf.setPageCount(3),
+                () -> media.setDurationMinutes(5));
+
+        long previous = Math.max(item.getVersion(), Math.max(pdf.getVersion(), media.getVersion()));
+        for (Runnable change : changes) {
+            change.run();
+            long latest = Math.max(item.getVersion(), Math.max(pdf.getVersion(), media.getVersion()));
+            assertThat(latest).isGreaterThan(previous);
+            previous = latest;
+        }
+    }
+
+    @Test
+    @DisplayName("Should order versions across items")
+    void testVersionsOrderedAcrossItems() {
+        Note first = new Note();
+        Note second = new Note();
+
+        assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+
+        first.setTitle("Changed later");
+
+        assertThat(first.getVersion()).isGreaterThan(second.getVersion());
+    }
 }
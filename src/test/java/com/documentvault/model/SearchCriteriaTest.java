@@ -0,0 +1,61 @@
+package com.documentvault.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SearchCriteria tag matching.
+ */
+@DisplayName("SearchCriteria Tests")
+class SearchCriteriaTest {
+
+    @Test
+    @DisplayName("Should match items carrying any of the criteria tags")
+    void testTagMatching() {
+        Note tagged = new Note();
+        tagged.addTag("java");
+        Note other = new Note();
+        other.addTag("python");
+        SearchCriteria criteria = new SearchCriteria("", null, null, Set.of("java", "kotlin"));
+
+        assertThat(criteria.matches(tagged)).isTrue();
+        assertThat(criteria.matches(other)).isFalse();
+        assertThat(new SearchCriteria("", null, null, Set.of("python")).matches(other)).isTrue();
+        assertThat(criteria.matches(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match against tags resolved once for a search")
+    void testMatchWithResolvedTags() {
+        Note tagged = new Note();
+        tagged.addTag("java");
+        Note other = new Note();
+        other.addTag("python");
+        SearchCriteria criteria = new SearchCriteria("", null, null, Set.of("java", "kotlin"));
+
+        TagSet tagIds = criteria.tagIds();
+
+        assertThat(tagIds.names()).containsExactly("java");
+        assertThat(criteria.matches(tagged, tagIds)).isTrue();
+        assertThat(criteria.matches(other, tagIds)).isFalse();
+        assertThat(new SearchCriteria("").tagIds()).isSameAs(TagSet.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should match a tag that was unknown when the criteria were first used")
+    void testTagInternedAfterFirstMatch() {
+        String tag = "criteria-test-" + System.nanoTime();
+        SearchCriteria criteria = new SearchCriteria("", null, null, Set.of(tag));
+        Note note = new Note();
+
+        assertThat(criteria.matches(note)).isFalse();
+
+        note.addTag(tag);
+
+        assertThat(criteria.matches(note)).isTrue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.documentvault.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TagSet and TagDictionary.
+ * Tests interning, membership and set operations over tag ids.
+ */
+@DisplayName("TagSet Tests")
+class TagSetTest {
+
+    @Test
+    @DisplayName("Should give each distinct tag one stable id")
+    void testInterning() {
+        int id = TagDictionary.intern("tagset-interning");
+
+        assertThat(TagDictionary.intern("tagset-interning")).isEqualTo(id);
+        assertThat(TagDictionary.lookup("tagset-interning")).isEqualTo(id);
+        assertThat(TagDictionary.name(id)).isEqualTo("tagset-interning");
+        assertThat(TagDictionary.lookup("tagset-never-seen")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should deduplicate and report membership")
+    void testMembership() {
+        TagSet tags = TagSet.of(List.of("java", "oop", "java"));
+
+        assertThat(tags.size()).isEqualTo(2);
+        assertThat(tags.contains("java")).isTrue();
+        assertThat(tags.contains("python")).isFalse();
+        assertThat(tags.names()).containsExactlyInAnyOrder("java", "oop");
+    }
+
+    @Test
+    @DisplayName("Should return new sets when adding and removing")
+    void testWithAndWithout() {
+        TagSet original = TagSet.of(Set.of("java"));
+        TagSet grown = original.with("streams");
+        TagSet shrunk = grown.without("java");
+
+        assertThat(original.names()).containsExactly("java");
+        assertThat(grown.names()).containsExactlyInAnyOrder("java", "streams");
+        assertThat(shrunk.names()).containsExactly("streams");
+        assertThat(grown.with("java")).isSameAs(grown);
+        assertThat(shrunk.without("missing")).isSameAs(shrunk);
+        assertThat(shrunk.without("streams")).isSameAs(TagSet.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should intersect with other sets and bitsets")
+    void testIntersects() {
+        TagSet item = TagSet.of(List.of("java", "oop"));
+
+        assertThat(item.intersects(TagSet.lookup(List.of("python", "oop")))).isTrue();
+        assertThat(item.intersects(TagSet.lookup(List.of("python", "tagset-unknown")))).isFalse();
+        assertThat(item.intersects(TagSet.of(List.of("oop")).toBitSet())).isTrue();
+        assertThat(item.intersects(TagSet.EMPTY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compare by content")
+    void testEquality() {
+        assertThat(TagSet.of(List.of("a", "b"))).isEqualTo(TagSet.of(List.of("b", "a")));
+        assertThat(TagSet.of(List.of("a"))).isNotEqualTo(TagSet.of(List.of("b")));
+    }
+}
@@ -0,0 +1,61 @@
+package com.documentvault.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Timestamps.
+ * Tests that encoded date-times round-trip exactly and keep their order.
+ */
+@DisplayName("Timestamps Tests")
+class TimestampsTest {
+
+    @Test
+    @DisplayName("Should round-trip date-times to the nanosecond")
+    void testRoundTrip() {
+        LocalDateTime[] dateTimes = {
+                LocalDateTime.now(),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(1970, 1, 1, 0, 0),
+                LocalDateTime.of(2200, 6, 15, 12, 30, 1, 5)
+        };
+
+        for (LocalDateTime dateTime : dateTimes) {
+            assertThat(Timestamps.decode(Timestamps.encode(dateTime))).isEqualTo(dateTime);
+        }
+        assertThat(Timestamps.encode(null)).isEqualTo(Timestamps.NONE);
+        assertThat(Timestamps.decode(Timestamps.NONE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should order encoded values like the date-times")
+    void testOrder() {
+        LocalDateTime earlier = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999);
+        LocalDateTime later = earlier.plusNanos(1);
+
+        assertThat(Timestamps.encode(earlier)).isLessThan(Timestamps.encode(later));
+    }
+
+    @Test
+    @DisplayName("Should encode the covered years exactly and clamp the rest")
+    void testBoundaries() {
+        LocalDateTime earliest = Timestamps.decode(Timestamps.NONE + 1);
+        LocalDateTime latest = Timestamps.decode(Long.MAX_VALUE);
+
+        assertThat(earliest.getYear()).isEqualTo(1677);
+        assertThat(latest.getYear()).isEqualTo(2262);
+        assertThat(Timestamps.encode(earliest)).isEqualTo(Timestamps.NONE + 1);
+        assertThat(Timestamps.encode(latest)).isEqualTo(Long.MAX_VALUE);
+        assertThat(Timestamps.decode(Timestamps.encode(latest.minusNanos(1)))).isEqualTo(latest.minusNanos(1));
+
+        assertThat(Timestamps.encode(latest.plusNanos(1))).isEqualTo(Long.MAX_VALUE);
+        assertThat(Timestamps.encode(LocalDateTime.of(3000, 1, 1, 0, 0))).isEqualTo(Long.MAX_VALUE);
+        assertThat(Timestamps.encode(LocalDateTime.MAX)).isEqualTo(Long.MAX_VALUE);
+        assertThat(Timestamps.encode(earliest.minusNanos(1))).isEqualTo(Timestamps.NONE + 1);
+        assertThat(Timestamps.encode(LocalDateTime.MIN)).isEqualTo(Timestamps.NONE + 1);
+    }
+}
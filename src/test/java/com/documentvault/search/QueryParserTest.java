@@ -0,0 +1,126 @@
+package com.documentvault.search;
+
+import com.documentvault.model.DateField;
+import com.documentvault.model.LibraryItem;
+import com.documentvault.model.NumericField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for QueryParser.
+ * Tests the query grammar, field scoping, operators and error reporting.
+ */
+@DisplayName("QueryParser Tests")
+class QueryParserTest {
+
+    @Test
+    @DisplayName("Should parse blank query as match-all")
+    void testBlankQuery() {
+        assertThat(QueryParser.parse(null)).isInstanceOf(Query.All.class);
+        assertThat(QueryParser.parse("   ")).isInstanceOf(Query.All.class);
+    }
+
+    @Test
+    @DisplayName("Should parse bare word as lower-cased text term")
+    void testBareWord() {
+        assertThat(QueryParser.parse("Java")).isEqualTo(new Query.Text("java"));
+    }
+
+    @Test
+    @DisplayName("Should parse quoted phrase as single text term")
+    void testQuotedPhrase() {
+        assertThat(QueryParser.parse("\"deep learning\"")).isEqualTo(new Query.Text("deep learning"));
+    }
+
+    @Test
+    @DisplayName("Should treat adjacent terms as implicit AND")
+    void testImplicitAnd() {
+        Query query = QueryParser.parse("java streams");
+
+        assertThat(query).isEqualTo(new Query.And(List.of(
+                new Query.Text("java"), new Query.Text("streams"))));
+    }
+
+    @Test
+    @DisplayName("Should give AND precedence over OR")
+    void testOperatorPrecedence() {
+        Query query = QueryParser.parse("a AND b OR c");
+
+        assertThat(query).isEqualTo(new Query.Or(List.of(
+                new Query.And(List.of(new Query.Text("a"), new Query.Text("b"))),
+                new Query.Text("c"))));
+    }
+
+    @Test
+    @DisplayName("Should honour parentheses")
+    void testParentheses() {
+        Query query = QueryParser.parse("a AND (b OR c)");
+
+        assertThat(query).isEqualTo(new Query.And(List.of(
+                new Query.Text("a"),
+                new Query.Or(List.of(new Query.Text("b"), new Query.Text("c"))))));
+    }
+
+    @Test
+    @DisplayName("Should parse NOT and minus prefix")
+    void testNegation() {
+        assertThat(QueryParser.parse("NOT draft")).isEqualTo(new Query.Not(new Query.Text("draft")));
+        assertThat(QueryParser.parse("-tag:draft")).isEqualTo(new Query.Not(new Query.TagIs("draft")));
+    }
+
+    @Test
+    @DisplayName("Should parse field-scoped terms")
+    void testFields() {
+        assertThat(QueryParser.parse("title:Java")).isEqualTo(new Query.TitleContains("java"));
+        assertThat(QueryParser.parse("category:Programming")).isEqualTo(new Query.CategoryNamed("Programming"));
+        assertThat(QueryParser.parse("tag:OOP")).isEqualTo(new Query.TagIs("oop"));
+        assertThat(QueryParser.parse("type:pdf")).isEqualTo(new Query.TypeIs(LibraryItem.ItemType.PDF));
+        assertThat(QueryParser.parse("title:\"machine learning\""))
+                .isEqualTo(new Query.TitleContains("machine learning"));
+    }
+
+    @Test
+    @DisplayName("Should parse date ranges with open and closed bounds")
+    void testDateRanges() {
+        assertThat(QueryParser.parse("created:2025-01-01..2025-12-31")).isEqualTo(new Query.DateRange(
+                DateField.CREATED, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        assertThat(QueryParser.parse("modified:2025-06-01..")).isEqualTo(new Query.DateRange(
+                DateField.MODIFIED, LocalDate.of(2025, 6, 1), null));
+        assertThat(QueryParser.parse("created:2025-03-01")).isEqualTo(new Query.DateRange(
+                DateField.CREATED, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1)));
+    }
+
+    @Test
+    @DisplayName("Should parse numeric ranges with size suffixes")
+    void testNumericRanges() {
+        assertThat(QueryParser.parse("pages:10..100"))
+                .isEqualTo(new Query.NumericRange(NumericField.PAGE_COUNT, 10L, 100L));
+        assertThat(QueryParser.parse("duration:..29"))
+                .isEqualTo(new Query.NumericRange(NumericField.DURATION_MINUTES, null, 29L));
+        assertThat(QueryParser.parse("size:2mb.."))
+                .isEqualTo(new Query.NumericRange(NumericField.FILE_SIZE, 2L * 1024 * 1024, null));
+        assertThatThrownBy(() -> QueryParser.parse("pages:many")).isInstanceOf(QueryParseException.class);
+    }
+
+    @Test
+    @DisplayName("Should treat unknown fields as text")
+    void testUnknownField() {
+        assertThat(QueryParser.parse("http://example.com")).isEqualTo(new Query.Text("http://example.com"));
+    }
+
+    @Test
+    @DisplayName("Should report malformed queries")
+    void testErrors() {
+        assertThatThrownBy(() -> QueryParser.parse("(java")).isInstanceOf(QueryParseException.class);
+        assertThatThrownBy(() -> QueryParser.parse("java)")).isInstanceOf(QueryParseException.class);
+        assertThatThrownBy(() -> QueryParser.parse("\"open")).isInstanceOf(QueryParseException.class);
+        assertThatThrownBy(() -> QueryParser.parse("type:book")).isInstanceOf(QueryParseException.class);
+        assertThatThrownBy(() -> QueryParser.parse("created:2025-13-01")).isInstanceOf(QueryParseException.class);
+        assertThatThrownBy(() -> QueryParser.parse("java AND")).isInstanceOf(QueryParseException.class);
+    }
+}
@@ -0,0 +1,225 @@
+package com.documentvault.search;
+
+import com.documentvault.index.CompressedBitmap;
+import com.documentvault.index.LibraryIndex;
+import com.documentvault.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for QueryPlanner and QueryPlan.
+ * Tests access path selection, residual predicates and that every plan
+ * returns the same items as evaluating the query directly.
+ */
+@DisplayName("QueryPlanner Tests")
+class QueryPlannerTest {
+
+    private LibraryIndex index;
+    private QueryPlanner planner;
+    private Category programming;
+    private Note javaNote;
+    private Note pythonNote;
+    private PdfDocument javaPdf;
+    private MediaLink lecture;
+
+    @BeforeEach
+    void setUp() {
+        index = new LibraryIndex();
+        planner = new QueryPlanner(index);
+        programming = new Category("Programming");
+
+        javaNote = new Note();
+        javaNote.setTitle("Java Basics");
+        javaNote.setCategory(programming);
+        javaNote.addTag("java");
+        javaNote.setDateAdded(LocalDateTime.of(2025, 3, 10, 9, 0));
+
+        pythonNote = new Note();
+        pythonNote.setTitle("Python Guide");
+        pythonNote.setContent("Compared with Java");
+        pythonNote.addTag("python");
+        pythonNote.setDateAdded(LocalDateTime.of(2024, 11, 2, 9, 0));
+
+        javaPdf = new PdfDocument();
+        javaPdf.setTitle("Effective Java");
+        javaPdf.setCategory(programming);
+        javaPdf.addTag("java");
+        javaPdf.addTag("book");
+        javaPdf.setDateAdded(LocalDateTime.of(2025, 7, 1, 9, 0));
+
+        lecture = new MediaLink();
+        lecture.setTitle("Linear Algebra Lecture");
+        lecture.addTag("math");
+        lecture.setDateAdded(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        for (LibraryItem item : List.of(javaNote, pythonNote, javaPdf, lecture)) {
+            index.index(item);
+        }
+    }
+
+    private List<LibraryItem> run(String query) {
+        return planner.plan(QueryParser.parse(query)).execute();
+    }
+
+    @Test
+    @DisplayName("Should drive from the most selective index")
+    void testDriveSelection() {
+        QueryPlan plan = planner.plan(QueryParser.parse("tag:book type:pdf"));
+
+        assertThat(plan.getDrive().description()).contains("tag:book");
+        assertThat(plan.getIntersections()).hasSize(1);
+        assertThat(plan.getResiduals()).isEmpty();
+        assertThat(plan.execute()).containsExactly(javaPdf);
+    }
+
+    @Test
+    @DisplayName("Should verify trigram candidates with a residual predicate")
+    void testTextResidual() {
+        QueryPlan plan = planner.plan(QueryParser.parse("java"));
+
+        assertThat(plan.getDrive().exact()).isFalse();
+        assertThat(plan.getResiduals()).containsExactly(new Query.Text("java"));
+        assertThat(plan.execute()).containsExactlyInAnyOrder(javaNote, pythonNote, javaPdf);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full scan when nothing is indexable")
+    void testFullScan() {
+        QueryPlan plan = planner.plan(QueryParser.parse("ja"));
+
+        assertThat(plan.getDrive().description()).isEqualTo("full scan");
+        assertThat(plan.getResiduals()).containsExactly(new Query.Text("ja"));
+        assertThat(plan.execute()).containsExactlyInAnyOrder(javaNote, pythonNote, javaPdf);
+    }
+
+    @Test
+    @DisplayName("Should answer date ranges from the date index")
+    void testDateRange() {
+        QueryPlan plan = planner.plan(QueryParser.parse("created:2025-01-01..2025-12-31"));
+
+        assertThat(plan.getDrive().description()).startsWith("date index");
+        assertThat(plan.getResiduals()).isEmpty();
+        assertThat(plan.execute()).containsExactlyInAnyOrder(javaNote, javaPdf, lecture);
+        assertThat(run("created:2025-03-10")).containsExactly(javaNote);
+        assertThat(run("created:..2024-12-31")).containsExactly(pythonNote);
+    }
+
+    @Test
+    @DisplayName("Should resolve categories by name")
+    void testCategoryByName() {
+        assertThat(run("category:programming")).containsExactlyInAnyOrder(javaNote, javaPdf);
+
+        programming.setName("Software");
+        index.updateCategoryName(programming);
+
+        assertThat(run("category:software")).containsExactlyInAnyOrder(javaNote, javaPdf);
+        assertThat(run("category:programming")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find members by text under a renamed category's new name")
+    void testTextSearchAfterCategoryRename() {
+        assertThat(run("programming")).containsExactlyInAnyOrder(javaNote, javaPdf);
+
+        programming.setName("Software");
+        index.updateCategoryName(programming);
+
+        assertThat(run("software")).containsExactlyInAnyOrder(javaNote, javaPdf);
+        assertThat(run("programming")).isEmpty();
+        assertThat(index.textCandidates("software").cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evaluate OR and NOT through the indexes")
+    void testBooleanOperators() {
+        assertThat(run("tag:python OR tag:math")).containsExactlyInAnyOrder(pythonNote, lecture);
+        assertThat(run("tag:java -type:pdf")).containsExactly(javaNote);
+        assertThat(run("NOT (tag:java OR tag:python)")).containsExactly(lecture);
+    }
+
+    @Test
+    @DisplayName("Should match direct evaluation for every query")
+    void testPlansAgreeWithMatches() {
+        List<LibraryItem> all = List.of(javaNote, pythonNote, javaPdf, lecture);
+        for (String text : List.of(
+                "java", "ja", "title:java", "java -python", "type:note OR type:media",
+                "category:programming created:2025-03-01..", "(tag:java OR \"algebra\") NOT type:pdf",
+                "modified:..2000-01-01", "tag:missing", "NOT lecture")) {
+            Query query = QueryParser.parse(text);
+            List<LibraryItem> expected = all.stream().filter(query::matches).toList();
+
+            assertThat(planner.plan(query).execute())
+                    .as(text)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should follow re-indexed and removed items")
+    void testIndexMaintenance() {
+        javaNote.removeTag("java");
+        javaNote.addTag("jvm");
+        index.index(javaNote);
+        index.remove(javaPdf.getId());
+
+        assertThat(run("tag:java")).isEmpty();
+        assertThat(run("tag:jvm")).containsExactly(javaNote);
+        assertThat(run("effective")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should unpost the text, dates and numbers an item had before changing in place")
+    void testReindexAfterInPlaceChange() {
+        int ordinal = index.ordinalOf(javaNote.getId()).orElseThrow();
+        lecture.setDurationMinutes(45);
+        index.index(lecture);
+
+        javaNote.setTitle("Kotlin Basics");
+        javaNote.setDateAdded(LocalDateTime.of(2023, 5, 5, 9, 0));
+        lecture.setDurationMinutes(90);
+        index.index(javaNote);
+        index.index(lecture);
+
+        assertThat(index.textCandidates("basics").contains(ordinal)).isTrue();
+        assertThat(index.textCandidates("java b").contains(ordinal)).isFalse();
+        assertThat(run("created:2025-03-01..2025-03-31")).isEmpty();
+        assertThat(run("created:2023-05-01..2023-05-31")).containsExactly(javaNote);
+        assertThat(run("duration:40..50")).isEmpty();
+        assertThat(run("duration:90..90")).containsExactly(lecture);
+
+        index.remove(lecture.getId());
+
+        assertThat(run("duration:0..")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refine within a previous result set")
+    void testRefine() {
+        CompressedBitmap previous = planner.plan(QueryParser.parse("java")).executeOrdinals();
+        QueryPlan plan = planner.refine(QueryParser.parse("java basics"), previous);
+
+        assertThat(plan.getDrive().description()).isEqualTo("previous results");
+        assertThat(plan.getDrive().estimatedRows()).isEqualTo(3);
+        assertThat(plan.execute()).containsExactly(javaNote);
+        assertThat(previous.cardinality()).as("candidates untouched").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should explain the chosen plan")
+    void testExplain() {
+        String explain = planner.plan(QueryParser.parse("java type:pdf created:2025-01-01..")).explain();
+
+        assertThat(explain)
+                .contains("Drive:")
+                .contains("type index type:pdf")
+                .contains("trigram postings")
+                .contains("date index created:2025-01-01..")
+                .contains("Residual:  java");
+    }
+}
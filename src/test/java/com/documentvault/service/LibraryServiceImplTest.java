@@ -7,7 +7,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -519,6 +521,525 @@ class LibraryServiceImplTest {
         assertThat(tags).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should drop tags once no item uses them")
+    void testTagReferenceCounts() {
+        Note note1 = new Note();
+        note1.addTag("java");
+        note1.addTag("draft");
+        Note note2 = new Note();
+        note2.addTag("java");
+        service.addItem(note1);
+        service.addItem(note2);
+
+        note1.removeTag("draft");
+        service.updateItem(note1);
+
+        assertThat(service.getAllTags()).containsExactly("java");
+
+        service.deleteItem(note1.getId());
+
+        assertThat(service.getAllTags()).containsExactly("java");
+        assertThat(service.getPerformanceStats()).containsEntry("uniqueTagCount", 1);
+
+        service.deleteItem(note2.getId());
+
+        assertThat(service.getAllTags()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should compute performance stats from the index columns")
+    void testPerformanceStats() {
+        PdfDocument pdf = new PdfDocument();
+        pdf.setPageCount(12);
+        MediaLink media = new MediaLink();
+        media.setDurationMinutes(30);
+        Note old = new Note();
+        old.setDateAdded(LocalDateTime.now().minusMonths(1));
+        service.addItem(pdf);
+        service.addItem(media);
+        service.addItem(old);
+        service.addItem(new Note());
+        service.deleteItem(media.getId());
+
+        assertThat(service.getPerformanceStats())
+                .containsEntry("totalItems", 3)
+                .containsEntry("noteCount", 2L)
+                .containsEntry("pdfCount", 1L)
+                .containsEntry("mediaCount", 0L)
+                .containsEntry("totalPageCount", 12L)
+                .containsEntry("totalMediaMinutes", 0L)
+                .containsEntry("itemsAddedLastWeek", 2);
+    }
+
+    @Test
+    @DisplayName("Should run query language searches")
+    void testQueryLanguage() {
+        Category category = new Category("Programming");
+        service.addCategory(category);
+
+        Note note = new Note();
+        note.setTitle("Java Basics");
+        note.setCategory(category);
+        note.addTag("java");
+        PdfDocument pdf = new PdfDocument();
+        pdf.setTitle("Effective Java");
+        pdf.addTag("java");
+        service.addItem(note);
+        service.addItem(pdf);
+
+        assertThat(service.query("tag:java category:programming")).containsExactly(note);
+        assertThat(service.query("title:java OR type:pdf")).containsExactlyInAnyOrder(note, pdf);
+        assertThat(service.query("java -type:note")).containsExactly(pdf);
+        assertThat(service.explain("tag:java type:pdf")).contains("Drive:");
+    }
+
+    @Test
+    @DisplayName("Should keep query results in step with updates and deletes")
+    void testQueryAfterModification() {
+        Note note = new Note();
+        note.setTitle("Draft");
+        service.addItem(note);
+
+        note.setTitle("Final");
+        service.updateItem(note);
+
+        assertThat(service.query("title:draft")).isEmpty();
+        assertThat(service.query("title:final")).containsExactly(note);
+
+        service.deleteItem(note.getId());
+
+        assertThat(service.query("final")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return items in a date range oldest first")
+    void testGetItemsInDateRange() {
+        Note early = new Note();
+        early.setDateAdded(LocalDateTime.of(2025, 1, 5, 10, 0));
+        Note middle = new Note();
+        middle.setDateAdded(LocalDateTime.of(2025, 6, 1, 10, 0));
+        Note late = new Note();
+        late.setDateAdded(LocalDateTime.of(2026, 2, 1, 10, 0));
+        service.addItem(late);
+        service.addItem(early);
+        service.addItem(middle);
+
+        List<LibraryItem> result = service.getItemsInDateRange(DateField.CREATED,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        assertThat(result).containsExactly(early, middle);
+        assertThat(service.getItemsInDateRange(DateField.CREATED, null, null))
+                .containsExactly(early, middle, late);
+    }
+
+    @Test
+    @DisplayName("Should return most recently modified items first")
+    void testGetRecentItems() {
+        Note first = new Note();
+        Note second = new Note();
+        Note third = new Note();
+        service.addItem(first);
+        service.addItem(second);
+        service.addItem(third);
+        first.setLastModified(LocalDateTime.of(2025, 1, 1, 0, 0));
+        second.setLastModified(LocalDateTime.of(2025, 2, 1, 0, 0));
+        third.setLastModified(LocalDateTime.of(2025, 3, 1, 0, 0));
+        for (LibraryItem item : List.of(first, second, third)) {
+            service.addItem(item);
+        }
+
+        assertThat(service.getRecentItems(DateField.MODIFIED, 2)).containsExactly(third, second);
+
+        // An update touches the item and moves it to the front
+        service.updateItem(first);
+
+        assertThat(service.getRecentItems(DateField.MODIFIED, 10)).containsExactly(first, third, second);
+    }
+
+    @Test
+    @DisplayName("Should filter by numeric ranges through the criteria")
+    void testNumericRangeCriteria() {
+        PdfDocument shortPdf = new PdfDocument();
+        shortPdf.setPageCount(12);
+        shortPdf.setFileSize(200_000);
+        PdfDocument book = new PdfDocument();
+        book.setPageCount(450);
+        book.setFileSize(8_000_000);
+        MediaLink shortLecture = new MediaLink();
+        shortLecture.setDurationMinutes(25);
+        MediaLink longLecture = new MediaLink();
+        longLecture.setDurationMinutes(90);
+        Note note = new Note();
+        for (LibraryItem item : List.of(shortPdf, book, shortLecture, longLecture, note)) {
+            service.addItem(item);
+        }
+
+        var underThirty = new SearchCriteria("").withRange(NumericField.DURATION_MINUTES, null, 29L);
+        var bigBooks = new SearchCriteria("")
+                .withRange(NumericField.PAGE_COUNT, 100L, null)
+                .withRange(NumericField.FILE_SIZE, 1_000_000L, 10_000_000L);
+
+        assertThat(service.searchWithCriteria(underThirty)).containsExactly(shortLecture);
+        assertThat(service.searchWithCriteria(bigBooks)).containsExactly(book);
+        assertThat(service.query("pages:..100")).containsExactly(shortPdf);
+        assertThat(service.query("duration:25")).containsExactly(shortLecture);
+
+        book.setPageCount(40);
+        service.updateItem(book);
+
+        assertThat(service.query("pages:..100")).containsExactlyInAnyOrder(shortPdf, book);
+    }
+
+    @Test
+    @DisplayName("Should index facets and enumerate distinct values")
+    void testFacets() {
+        PdfDocument knuth = new PdfDocument();
+        knuth.setAuthor("Donald Knuth");
+        PdfDocument knuthAgain = new PdfDocument();
+        knuthAgain.setAuthor("donald knuth ");
+        PdfDocument bloch = new PdfDocument();
+        bloch.setAuthor("Joshua Bloch");
+        TextSnippet sql = new TextSnippet();
+        sql.setLanguage("sql");
+        TextSnippet java = new TextSnippet();
+        java.setLanguage("java");
+        MediaLink lecture = new MediaLink();
+        lecture.setMediaType(MediaLink.MediaType.LECTURE);
+        lecture.setSource("YouTube");
+        for (LibraryItem item : List.of(knuth, knuthAgain, bloch, sql, java, lecture)) {
+            service.addItem(item);
+        }
+
+        assertThat(service.getFacetValues(FacetField.AUTHOR)).hasSize(2);
+        assertThat(service.getFacetValues(FacetField.LANGUAGE)).containsExactly("java", "sql");
+        assertThat(service.getFacetValues(FacetField.MEDIA_TYPE)).containsExactly("Lecture");
+        assertThat(service.getItemsByFacet(FacetField.AUTHOR, "DONALD KNUTH"))
+                .containsExactlyInAnyOrder(knuth, knuthAgain);
+        assertThat(service.query("source:youtube media:lecture")).containsExactly(lecture);
+        assertThat(service.query("lang:sql")).containsExactly(sql);
+
+        service.deleteItem(bloch.getId());
+
+        assertThat(service.getFacetValues(FacetField.AUTHOR)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count result facets alongside the search results")
+    void testSearchWithFacets() {
+        Category programming = new Category("Programming");
+        service.addCategory(programming);
+        Note javaNote = new Note();
+        javaNote.setTitle("Java Streams");
+        javaNote.setCategory(programming);
+        javaNote.addTag("java");
+        javaNote.addTag("streams");
+        PdfDocument javaBook = new PdfDocument();
+        javaBook.setTitle("Effective Java");
+        javaBook.setCategory(programming);
+        javaBook.addTag("java");
+        PdfDocument javaPuzzlers = new PdfDocument();
+        javaPuzzlers.setTitle("Java Puzzlers");
+        javaPuzzlers.addTag("java");
+        javaPuzzlers.addTag("puzzles");
+        Note groceries = new Note();
+        groceries.setTitle("Groceries");
+        groceries.addTag("home");
+        for (LibraryItem item : List.of(javaNote, javaBook, javaPuzzlers, groceries)) {
+            service.addItem(item);
+        }
+
+        SearchResult result = service.searchWithFacets(new SearchCriteria("java"), 2);
+
+        assertThat(result.items()).containsExactlyInAnyOrder(javaNote, javaBook, javaPuzzlers);
+        assertThat(result.facets().count(LibraryItem.ItemType.PDF)).isEqualTo(2);
+        assertThat(result.facets().count(LibraryItem.ItemType.NOTE)).isEqualTo(1);
+        assertThat(result.facets().count(LibraryItem.ItemType.MEDIA_LINK)).isZero();
+        assertThat(result.facets().categories()).containsExactly(Map.entry(programming.getId(), 2));
+        assertThat(result.facets().uncategorized()).isEqualTo(1);
+        assertThat(result.facets().tags().keySet()).containsExactly("java", "puzzles");
+
+        SearchResult everything = service.searchWithFacets(new SearchCriteria(""), 10);
+
+        assertThat(everything.items()).hasSize(4);
+        assertThat(everything.facets().count(LibraryItem.ItemType.NOTE)).isEqualTo(2);
+        assertThat(everything.facets().uncategorized()).isEqualTo(2);
+        assertThat(everything.facets().tags()).containsEntry("java", 3).hasSize(4);
+
+        service.deleteItem(javaPuzzlers.getId());
+
+        assertThat(service.searchWithFacets(new SearchCriteria(""), 10).facets().tags())
+                .doesNotContainKey("puzzles");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated searches from the result cache")
+    void testSearchResultCache() {
+        Category programming = new Category("Programming");
+        service.addCategory(programming);
+        Note javaNote = new Note();
+        javaNote.setTitle("Java Streams");
+        javaNote.setCategory(programming);
+        Note pythonNote = new Note();
+        pythonNote.setTitle("Python Basics");
+        pythonNote.addTag("python");
+        service.addItem(javaNote);
+        service.addItem(pythonNote);
+        var byCategory = new SearchCriteria("", programming, null, Set.of());
+        var byText = new SearchCriteria("basics");
+
+        assertThat(service.searchWithCriteria(byCategory)).containsExactly(javaNote);
+        assertThat(service.searchWithCriteria(byCategory)).containsExactly(javaNote);
+        assertThat(service.getSearchCacheStats().hits()).isEqualTo(1);
+
+        // A tag edit leaves the category entry valid
+        pythonNote.addTag("beginner");
+        service.updateItem(pythonNote);
+
+        assertThat(service.searchWithCriteria(byCategory)).containsExactly(javaNote);
+        assertThat(service.getSearchCacheStats().hits()).isEqualTo(2);
+
+        // Moving an item into the category invalidates it
+        pythonNote.setCategory(programming);
+        service.updateItem(pythonNote);
+
+        assertThat(service.searchWithCriteria(byCategory)).containsExactlyInAnyOrder(javaNote, pythonNote);
+        assertThat(service.getSearchCacheStats().invalidations()).isEqualTo(1);
+
+        assertThat(service.searchWithCriteria(byText)).containsExactly(pythonNote);
+        javaNote.setDescription("Basics of the Stream API");
+        service.updateItem(javaNote);
+
+        assertThat(service.searchWithCriteria(byText)).containsExactly(javaNote, pythonNote);
+        assertThat(service.getSearchCacheStats().hitRate()).isBetween(0.0, 1.0);
+        assertThat(service.getPerformanceStats()).containsKey("searchCacheHitRate");
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached text searches when a short-titled item comes or goes")
+    void testCachedSearchWithShortText() {
+        assertThat(service.searchWithCriteria(new SearchCriteria("x"))).isEmpty();
+
+        Note x = new Note();
+        x.setTitle("x");
+        service.addItem(x);
+
+        assertThat(service.searchWithCriteria(new SearchCriteria("x"))).containsExactly(x);
+
+        Note y = new Note();
+        y.setTitle("y");
+        service.addItem(y);
+        assertThat(service.searchWithCriteria(new SearchCriteria("y"))).containsExactly(y);
+
+        service.deleteItem(y.getId());
+
+        assertThat(service.searchWithCriteria(new SearchCriteria("y"))).isEmpty();
+        assertThat(service.searchOrdinals(new SearchCriteria("y"), SortField.MODIFIED, true)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refine the previous results while typing")
+    void testSearchAsYouType() {
+        Note streams = new Note();
+        streams.setTitle("Java Streams");
+        Note javaScript = new Note();
+        javaScript.setTitle("JavaScript Promises");
+        Note jakarta = new Note();
+        jakarta.setTitle("Jakarta EE");
+        for (LibraryItem item : List.of(streams, javaScript, jakarta)) {
+            service.addItem(item);
+        }
+
+        assertThat(service.searchItems("ja")).hasSize(3);
+        assertThat(service.searchItems("jav")).containsExactlyInAnyOrder(streams, javaScript);
+        assertThat(service.searchItems("java s")).containsExactly(streams);
+        assertThat(service.getSearchCacheStats().refinements()).isEqualTo(2);
+
+        // Shortening the query falls back to the index (or an exact cache hit)
+        assertThat(service.searchItems("jak")).containsExactly(jakarta);
+        assertThat(service.getSearchCacheStats().refinements()).isEqualTo(3);
+
+        // A stale base is never refined
+        javaScript.setTitle("Java Scripting");
+        service.updateItem(javaScript);
+
+        assertThat(service.searchItems("java scr")).containsExactly(javaScript);
+    }
+
+    @Test
+    @DisplayName("Should return result ordinals that resolve to items newest first")
+    void testSearchOrdinals() {
+        Note older = new Note();
+        older.setTitle("Java Basics");
+        older.setLastModified(LocalDateTime.now().minusDays(1));
+        Note newer = new Note();
+        newer.setTitle("Java Streams");
+        Note other = new Note();
+        other.setTitle("Python");
+        service.addItem(older);
+        service.addItem(newer);
+        service.addItem(other);
+
+        int[] ordinals = service.searchOrdinals(new SearchCriteria("java"));
+
+        assertThat(service.getItemsByOrdinals(ordinals)).containsExactly(newer, older);
+        assertThat(ordinals[1]).isEqualTo(service.getOrdinal(older.getId()).getAsInt());
+
+        service.deleteItem(older.getId());
+
+        assertThat(service.getItemsByOrdinals(ordinals)).containsExactly(newer, null);
+        assertThat(service.getOrdinal(older.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve title and date sorts from the indexes")
+    void testSortedSearch() {
+        List<Note> notes = new ArrayList<>();
+        for (String title : List.of("banana", "Apple", "cherry", "apricot", "Blueberry")) {
+            Note note = new Note();
+            note.setTitle(title);
+            note.setContent("fruit");
+            service.addItem(note);
+            notes.add(note);
+        }
+        Note untitled = new Note();
+        service.addItem(untitled);
+
+        // Whole library: walks the title index
+        assertThat(service.getItemsByOrdinals(service.searchOrdinals(new SearchCriteria(""), SortField.TITLE, false)))
+                .extracting(LibraryItem::getTitle)
+                .containsExactly("Apple", "apricot", "banana", "Blueberry", "cherry", null);
+        // Small result: sorted directly, same order
+        assertThat(service.getItemsByOrdinals(service.searchOrdinals(new SearchCriteria("ap"), SortField.TITLE, true)))
+                .extracting(LibraryItem::getTitle)
+                .containsExactly("apricot", "Apple");
+
+        notes.get(0).setTitle("zucchini");
+        service.updateItem(notes.get(0));
+
+        assertThat(service.getItemsByOrdinals(service.searchOrdinals(new SearchCriteria(""), SortField.TITLE, true)))
+                .first().isEqualTo(notes.get(0));
+        assertThat(service.getItemsByOrdinals(service.searchOrdinals(new SearchCriteria(""), SortField.CREATED, false)))
+                .first().isEqualTo(notes.get(0));
+    }
+
+    @Test
+    @DisplayName("Should load the library on a background thread")
+    void testLoadInBackground() throws Exception {
+        Category category = new Category("Programming");
+        List<LibraryItem> notes = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            Note note = new Note();
+            note.setTitle("Note " + i);
+            note.setCategory(category);
+            notes.add(note);
+        }
+        StorageService.getInstance().saveCategories(List.of(category));
+        StorageService.getInstance().saveItems(notes);
+        resetServiceSingleton();
+
+        LibraryServiceImpl background = LibraryServiceImpl.loadInBackground();
+
+        assertThat(LibraryServiceImpl.getInstance()).isSameAs(background);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (background.isLoading() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(background.isLoading()).isFalse();
+        assertThat(background.isSavingDisabled()).isFalse();
+        assertThat(background.getItemCount()).isEqualTo(2_500);
+        assertThat(background.getAllCategories()).containsExactly(category);
+        assertThat(background.searchItems("note 2499")).hasSize(1);
+        Category shared = background.getAllCategories().get(0);
+        assertThat(background.getAllItems()).allSatisfy(item -> assertThat(item.getCategory()).isSameAs(shared));
+    }
+
+    @Test
+    @DisplayName("Should keep edits in memory only when the background load fails")
+    void testLoadInBackgroundFailure() throws Exception {
+        Note stored = new Note();
+        stored.setTitle("Stored");
+        StorageService.getInstance().saveItems(List.of(stored));
+        Path itemsFile;
+        try (var files = Files.walk(tempDir)) {
+            itemsFile = files.filter(path -> path.endsWith("library-items.json")).findFirst().orElseThrow();
+        }
+        String corrupted = "[" + Files.readString(itemsFile).strip().substring(1, 20);
+        Files.writeString(itemsFile, corrupted);
+        resetServiceSingleton();
+
+        LibraryServiceImpl background = LibraryServiceImpl.loadInBackground();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (background.isLoading() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Note added = new Note();
+        added.setTitle("Added after the failure");
+        background.addItem(added);
+
+        assertThat(background.isLoading()).isFalse();
+        assertThat(background.isSavingDisabled()).isTrue();
+        assertThat(background.getAllItems()).contains(added);
+        assertThat(Files.readString(itemsFile)).isEqualTo(corrupted);
+    }
+
+    @Test
+    @DisplayName("Should share one category instance across loaded items")
+    void testLoadedItemsShareCategory() throws Exception {
+        Category category = new Category("Reading");
+        Note first = new Note();
+        first.setCategory(category);
+        Note second = new Note();
+        second.setCategory(category);
+        StorageService.getInstance().saveCategories(List.of(category));
+        StorageService.getInstance().saveItems(List.of(first, second));
+        resetServiceSingleton();
+
+        LibraryServiceImpl reloaded = LibraryServiceImpl.getInstance();
+
+        Category shared = reloaded.getCategoryById(category.getId()).orElseThrow();
+        assertThat(reloaded.getItemById(first.getId()).orElseThrow().getCategory()).isSameAs(shared);
+        assertThat(reloaded.getItemById(second.getId()).orElseThrow().getCategory()).isSameAs(shared);
+        assertThat(reloaded.getItemById(first.getId()).orElseThrow().getLastModified())
+                .isEqualTo(first.getLastModified());
+    }
+
+    @Test
+    @DisplayName("Should publish change events after each mutation")
+    void testChangeEvents() {
+        List<LibraryEvent> events = new ArrayList<>();
+        LibraryListener listener = events::add;
+        service.addListener(listener);
+        service.addListener(event -> {
+            throw new IllegalStateException("broken listener");
+        });
+
+        Category category = new Category("Programming");
+        service.addCategory(category);
+        Note note = new Note();
+        note.setTitle("Java");
+        note.setCategory(category);
+        service.addItem(note);
+        service.updateItem(note);
+        service.deleteCategory(category.getId());
+        int ordinal = service.getOrdinal(note.getId()).orElseThrow();
+        service.deleteItem(note.getId());
+        service.deleteItem("missing");
+
+        assertThat(events).containsExactly(
+                new LibraryEvent.CategoryChanged(category.getId()),
+                new LibraryEvent.ItemAdded(note),
+                new LibraryEvent.ItemUpdated(note),
+                new LibraryEvent.CategoryChanged(category.getId()),
+                new LibraryEvent.BulkChange(Set.of(note.getId())),
+                new LibraryEvent.ItemRemoved(note.getId(), ordinal));
+
+        service.removeListener(listener);
+        service.addItem(new Note());
+
+        assertThat(events).hasSize(6);
+    }
+
     // ========== Category Management Tests ==========
 
     @Test
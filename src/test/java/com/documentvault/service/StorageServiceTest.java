@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -277,6 +278,23 @@ class StorageServiceTest {
         assertThat(loaded).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should store tags as a sorted array of names")
+    void testSaveLoadTags() throws IOException {
+        Note note = new Note();
+        note.addTag("zebra");
+        note.addTag("apple");
+
+        storageService.saveItems(List.of(note));
+        String json = Files.readString(storageService.getStorageDirectory().resolve("library-items.json"));
+        List<LibraryItem> loaded = storageService.loadItems();
+
+        assertThat(json).containsPattern("\"tags\": \\[\\s*\"apple\",\\s*\"zebra\"\\s*]");
+        assertThat(loaded).singleElement()
+                .satisfies(item -> assertThat(item.getTags()).containsExactlyInAnyOrder("apple", "zebra"))
+                .satisfies(item -> assertThat(item.hasTag("Apple")).isTrue());
+    }
+
     @Test
     @DisplayName("Should throw exception when loading from corrupted item file")
     void testLoadItemsFromCorruptedFile() throws IOException {
@@ -299,6 +317,31 @@ class StorageServiceTest {
         assertThat(loaded).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should stream items in batches")
+    void testLoadItemsInBatches() throws IOException {
+        List<LibraryItem> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Note note = new Note();
+            note.setTitle("Note " + i);
+            items.add(note);
+        }
+        storageService.saveItems(items);
+
+        List<List<LibraryItem>> batches = new ArrayList<>();
+        storageService.loadItems(10, batches::add);
+
+        assertThat(batches).extracting(List::size).containsExactly(10, 10, 5);
+        assertThat(batches.get(2).get(4).getTitle()).isEqualTo("Note 24");
+
+        Path itemsFile = storageService.getStorageDirectory().resolve("library-items.json");
+        Files.writeString(itemsFile, "null");
+        batches.clear();
+        storageService.loadItems(10, batches::add);
+
+        assertThat(batches).isEmpty();
+    }
+
     @Test
     @DisplayName("Should verify items file is writable")
     void testItemsFileWritable() throws IOException {
@@ -317,6 +360,190 @@ class StorageServiceTest {
         assertThat(Files.isWritable(categoriesFile)).isTrue();
     }
 
+    // ========== Incremental Save Tests ==========
+
+    private Path itemsFile() {
+        return storageService.getStorageDirectory().resolve("library-items.json");
+    }
+
+    @Test
+    @DisplayName("Should write items as a pretty-printed array")
+    void testSavedItemFormat() throws IOException {
+        Note note = new Note();
+        note.setId("note-1");
+        note.setTitle("Title");
+        note.setTags(Set.of("b", "a"));
+        note.setDateAdded(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        note.setLastModified(LocalDateTime.of(2024, 1, 2, 3, 4, 6));
+        PdfDocument pdf = new PdfDocument();
+        pdf.setId("pdf-1");
+        pdf.setDateAdded(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        pdf.setLastModified(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        storageService.saveItems(List.of(note, pdf));
+
+        assertThat(Files.readString(itemsFile())).isEqualTo("""
+                [
+                  {
+                    "content": "",
+                    "isMarkdown": false,
+                    "id": "note-1",
+                    "title": "Title",
+                    "tags": [
+                      "a",
+                      "b"
+                    ],
+                    "dateAdded": "2024-01-02T03:04:05",
+                    "lastModified": "2024-01-02T03:04:06",
+                    "itemType": "NOTE"
+                  },
+                  {
+                    "fileSize": 0,
+                    "pageCount": 0,
+                    "id": "pdf-1",
+                    "tags": [],
+                    "dateAdded": "2024-01-02T03:04:05",
+                    "lastModified": "2024-01-02T03:04:05",
+                    "itemType": "PDF"
+                  }
+                ]""");
+
+        storageService.saveItems(List.of());
+
+        assertThat(Files.readString(itemsFile())).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes from cached and fresh serialization")
+    void testCachedSaveMatchesFullSave() throws Exception {
+        List<LibraryItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TextSnippet snippet = new TextSnippet();
+            snippet.setTitle("Snippet " + i);
+            snippet.setContent("line 1\nline 2 \"quoted\" ü");
+            items.add(snippet);
+        }
+        storageService.saveItems(items);
+        ((TextSnippet) items.get(3)).setContent("changed");
+        items.remove(7);
+        storageService.saveItems(items);
+        String cached = Files.readString(itemsFile());
+
+        resetStorageSingleton();
+        StorageService.getInstance().saveItems(items);
+
+        assertThat(Files.readString(itemsFile())).isEqualTo(cached);
+        assertThat(storageService.loadItems()).hasSize(19);
+    }
+
+    @Test
+    @DisplayName("Should re-serialize items that changed since the last save")
+    void testChangedItemsSavedAgain() {
+        Category category = new Category("Reading");
+        Note note = new Note();
+        note.setTitle("Before");
+        note.setCategory(category);
+        Note other = new Note();
+        other.setTitle("Other");
+        storageService.saveItems(List.of(note, other));
+
+        note.setTitle("After");
+        category.setName("Renamed");
+        storageService.saveItems(List.of(note, other));
+
+        List<LibraryItem> loaded = storageService.loadItems();
+        assertThat(loaded).extracting(LibraryItem::getTitle).containsExactly("After", "Other");
+        assertThat(loaded.get(0).getCategory().getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    @DisplayName("Should load every item type back as the same type")
+    void testItemTypesRoundTrip() {
+        List<LibraryItem> items = List.of(new Note(), new PdfDocument(), new MediaLink(), new TextSnippet());
+
+        storageService.saveItems(items);
+
+        assertThat(storageService.loadItems())
+                .extracting(LibraryItem::getItemType)
+                .containsExactly(LibraryItem.ItemType.NOTE, LibraryItem.ItemType.PDF,
+                        LibraryItem.ItemType.MEDIA_LINK, LibraryItem.ItemType.TEXT_SNIPPET);
+        assertThat(storageService.loadItems().get(3)).isInstanceOf(TextSnippet.class);
+    }
+
+    @Test
+    @DisplayName("Should save and load large libraries in parallel, in order")
+    void testParallelSaveAndLoad() throws Exception {
+        List<LibraryItem> items = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            LibraryItem item = switch (i % 4) {
+                case 0 -> new Note();
+                case 1 -> new PdfDocument();
+                case 2 -> new MediaLink();
+                default -> new TextSnippet();
+            };
+            // Brackets, commas and escapes inside strings must not split elements
+            item.setTitle("Item " + i + " [{\"x\": \\\"]}, ");
+            items.add(item);
+        }
+
+        storageService.saveItems(items);
+        String parallel = Files.readString(itemsFile());
+        resetStorageSingleton();
+        StorageService fresh = StorageService.getInstance();
+        fresh.saveItems(items.subList(0, 100));
+        fresh.saveItems(items);
+
+        assertThat(Files.readString(itemsFile())).isEqualTo(parallel);
+        List<LibraryItem> loaded = fresh.loadItems();
+        assertThat(loaded).extracting(LibraryItem::getId)
+                .containsExactlyElementsOf(items.stream().map(LibraryItem::getId).toList());
+        assertThat(loaded).extracting(LibraryItem::getTitle)
+                .containsExactlyElementsOf(items.stream().map(LibraryItem::getTitle).toList());
+        assertThat(loaded.get(3)).isInstanceOf(TextSnippet.class);
+    }
+
+    @Test
+    @DisplayName("Should stream large libraries in batches, in order")
+    void testParallelLoadInBatches() throws IOException {
+        List<LibraryItem> items = new ArrayList<>();
+        for (int i = 0; i < 1_234; i++) {
+            Note note = new Note();
+            note.setTitle("Note " + i + " [{,}]");
+            items.add(note);
+        }
+        storageService.saveItems(items);
+
+        List<List<LibraryItem>> batches = new ArrayList<>();
+        storageService.loadItems(100, batches::add);
+
+        assertThat(batches).hasSize(13);
+        assertThat(batches.get(12)).hasSize(34);
+        assertThat(batches.stream().flatMap(List::stream).map(LibraryItem::getId))
+                .containsExactlyElementsOf(items.stream().map(LibraryItem::getId).toList());
+
+        String json = Files.readString(itemsFile());
+        // Still shaped like an array, so the error comes from a batch parsed ahead
+        Files.writeString(itemsFile(), json.replace("\"Note 700 [{,}]\"", "{}"));
+
+        assertThatThrownBy(() -> storageService.loadItems(100, batch -> { }))
+                .isInstanceOf(com.google.gson.JsonParseException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a large truncated file")
+    void testParallelLoadOfBrokenArray() throws IOException {
+        List<LibraryItem> items = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            items.add(new Note());
+        }
+        storageService.saveItems(items);
+        String json = Files.readString(itemsFile());
+        Files.writeString(itemsFile(), json.substring(0, json.length() / 2));
+
+        assertThatThrownBy(() -> storageService.loadItems())
+                .isInstanceOf(com.google.gson.JsonParseException.class);
+    }
+
     // ========== Multiple Save/Load Cycles ==========
 
     @Test
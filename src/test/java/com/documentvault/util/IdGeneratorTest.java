@@ -0,0 +1,73 @@
+package com.documentvault.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for IdGenerator utility class.
+ */
+@DisplayName("IdGenerator Tests")
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs stamped with the current time")
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.timeOrdered();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // An earlier burst on this thread may have borrowed a few milliseconds
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+        assertThat(UUID.fromString(id.toString())).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids on one thread")
+    void testMonotonic() {
+        UUID previous = IdGenerator.timeOrdered();
+        for (int i = 0; i < 200_000; i++) {
+            UUID next = IdGenerator.timeOrdered();
+
+            assertThat(next).isGreaterThan(previous);
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids across threads")
+    void testUniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(IdGenerator.timeOrdered());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(200_000);
+    }
+}
@@ -0,0 +1,100 @@
+package com.documentvault.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the vectorized substring kernel.
+ * The kernel is checked against String.indexOf on fixed edge cases and on
+ * random text drawn from a small alphabet, so that candidate positions,
+ * partial matches and block boundaries all occur often. Runs only when
+ * built with the vector profile, which adds the incubator module.
+ */
+@DisplayName("SubstringKernel Tests")
+class SubstringKernelTest {
+
+    private static SubstringKernel kernel() {
+        Optional<SubstringKernel> kernel = SubstringKernel.vectorized();
+        assumeTrue(kernel.isPresent(), "built without the vector profile");
+        return kernel.get();
+    }
+
+    private static void assertSameAsString(SubstringKernel kernel, String text, String pattern) {
+        int expected = text.indexOf(pattern);
+        if (isLatin1(text) && isLatin1(pattern)) {
+            assertThat(kernel.indexOf(text.getBytes(StandardCharsets.ISO_8859_1), pattern))
+                    .as("%s bytes: %s in %s", kernel.getClass().getSimpleName(), pattern, text)
+                    .isEqualTo(expected);
+        }
+        assertThat(kernel.indexOf(text.toCharArray(), pattern))
+                .as("%s chars: %s in %s", kernel.getClass().getSimpleName(), pattern, text)
+                .isEqualTo(expected);
+    }
+
+    private static boolean isLatin1(String text) {
+        return text.chars().allMatch(c -> c <= 0xFF);
+    }
+
+    @Test
+    @DisplayName("Should find patterns at the edges and report misses")
+    void testEdgeCases() {
+        String long1 = "x".repeat(200) + "needle" + "y".repeat(7);
+        SubstringKernel kernel = kernel();
+        assertSameAsString(kernel, "", "");
+        assertSameAsString(kernel, "abc", "");
+        assertSameAsString(kernel, "", "a");
+        assertSameAsString(kernel, "ab", "abc");
+        assertSameAsString(kernel, "abc", "abc");
+        assertSameAsString(kernel, "abcabc", "c");
+        assertSameAsString(kernel, long1, "needle");
+        assertSameAsString(kernel, long1, "y");
+        assertSameAsString(kernel, long1, "yyyyyyyy");
+        assertSameAsString(kernel, long1 + "needle", "needle" + "y".repeat(7) + "needle");
+        // Same first and last chars with a different middle
+        assertSameAsString(kernel, "n".repeat(100) + "nxn" + "nan", "nan");
+        assertSameAsString(kernel, "café ü " + "a".repeat(80) + "ü", "ü");
+        assertSameAsString(kernel, "日本語のテキスト" + "a".repeat(50) + "テキスト", "テキスト");
+    }
+
+    @Test
+    @DisplayName("Should agree with String.indexOf on random text")
+    void testRandomAgainstString() {
+        SubstringKernel kernel = kernel();
+        Random random = new Random(11);
+        String alphabet = "abcé";
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(300);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            StringBuilder pattern = new StringBuilder();
+            int patternLength = 1 + random.nextInt(5);
+            for (int i = 0; i < patternLength; i++) {
+                pattern.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (round % 2 == 1) {
+                text.append('ā');
+            }
+            assertSameAsString(kernel, text.toString(), pattern.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should offer the vector kernel only when its module is present")
+    void testVectorizedKernel() {
+        boolean module = ModuleLayer.boot().findModule(SubstringKernel.VECTOR_MODULE).isPresent();
+
+        // The vector profile both compiles the kernel and adds the module
+        assertThat(SubstringKernel.vectorized().isPresent()).isEqualTo(module);
+        SubstringKernel.vectorized().ifPresent(kernel ->
+                assertThat(kernel.getClass().getSimpleName()).isEqualTo("VectorSubstringKernel"));
+    }
+}
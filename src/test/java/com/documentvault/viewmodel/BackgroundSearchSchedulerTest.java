@@ -0,0 +1,115 @@
+package com.documentvault.viewmodel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BackgroundSearchScheduler.
+ * Results are published on the worker thread here, since no JavaFX
+ * toolkit is running.
+ */
+@DisplayName("BackgroundSearchScheduler Tests")
+class BackgroundSearchSchedulerTest {
+
+    private final List<String> published = new CopyOnWriteArrayList<>();
+    private BackgroundSearchScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run only the last search of a burst")
+    void testDebounce() throws InterruptedException {
+        scheduler = new BackgroundSearchScheduler(Duration.ofMillis(100), Runnable::run);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (String query : List.of("j", "ja", "jav", "java")) {
+            scheduler.submit(() -> {
+                runs.incrementAndGet();
+                return query;
+            }, result -> {
+                published.add(result);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(1);
+        assertThat(published).containsExactly("java");
+    }
+
+    @Test
+    @DisplayName("Should drop the result of a superseded running search")
+    void testSupersededResultDropped() throws InterruptedException {
+        scheduler = new BackgroundSearchScheduler(Duration.ZERO, Runnable::run);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        scheduler.submit(() -> {
+            slowStarted.countDown();
+            awaitQuietly(release);
+            return "slow";
+        }, published::add);
+        assertThat(slowStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        scheduler.submit(() -> "fast", result -> {
+            published.add(result);
+            done.countDown();
+        });
+        release.countDown();
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(published).containsExactly("fast");
+    }
+
+    @Test
+    @DisplayName("Should run searches off the calling thread")
+    void testRunsInBackground() throws InterruptedException {
+        scheduler = new BackgroundSearchScheduler(Duration.ZERO, Runnable::run);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+
+        scheduler.submit(() -> Thread.currentThread() != caller, offThread -> {
+            published.add(String.valueOf(offThread));
+            done.countDown();
+        });
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(published).containsExactly("true");
+    }
+
+    @Test
+    @DisplayName("Should discard work handed in after shutdown")
+    void testDiscardsAfterShutdown() throws InterruptedException {
+        scheduler = new BackgroundSearchScheduler(Duration.ZERO, Runnable::run);
+        scheduler.shutdown();
+
+        assertThatCode(() -> {
+            scheduler.readAhead().execute(() -> published.add("prefetch"));
+            scheduler.submit(() -> "late", published::add);
+        }).doesNotThrowAnyException();
+        Thread.sleep(50);
+        assertThat(published).isEmpty();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
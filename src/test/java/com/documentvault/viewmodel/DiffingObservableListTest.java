@@ -0,0 +1,116 @@
+package com.documentvault.viewmodel;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DiffingObservableList.
+ * Tests that updates reach the target contents with minimal change events.
+ */
+@DisplayName("DiffingObservableList Tests")
+class DiffingObservableListTest {
+
+    private record Row(String id, int version) {
+    }
+
+    private DiffingObservableList<Row> list;
+    private List<String> events;
+    private int transactions;
+
+    @BeforeEach
+    void setUp() {
+        list = new DiffingObservableList<>(Row::id, Row::version);
+        events = new ArrayList<>();
+        list.addListener((ListChangeListener<Row>) change -> {
+            transactions++;
+            while (change.next()) {
+                if (change.wasReplaced()) {
+                    events.add("replace " + change.getFrom());
+                } else if (change.wasRemoved()) {
+                    events.add("remove " + change.getFrom() + " x" + change.getRemovedSize());
+                } else if (change.wasAdded()) {
+                    events.add("add " + change.getFrom() + " x" + change.getAddedSize());
+                }
+            }
+        });
+    }
+
+    private static List<Row> rows(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new Row("r" + i, 0)).toList();
+    }
+
+    @Test
+    @DisplayName("Should fire nothing when contents are unchanged")
+    void testNoChange() {
+        List<Row> rows = rows(5);
+        list.update(rows);
+        transactions = 0;
+        events.clear();
+
+        list.update(new ArrayList<>(rows));
+
+        assertThat(transactions).isZero();
+        assertThat(list).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    @DisplayName("Should move an edited row to the top with one removal and one insertion")
+    void testMoveToTop() {
+        List<Row> rows = rows(1_000);
+        list.update(rows);
+        transactions = 0;
+        events.clear();
+
+        List<Row> edited = new ArrayList<>(rows);
+        Row row = edited.remove(500);
+        edited.add(0, new Row(row.id(), 1));
+        list.update(edited);
+
+        assertThat(transactions).isEqualTo(1);
+        assertThat(events).containsExactly("add 0 x1", "remove 501 x1");
+        assertThat(list).containsExactlyElementsOf(edited);
+    }
+
+    @Test
+    @DisplayName("Should replace a row in place when only its version changes")
+    void testReplaceStaleRow() {
+        List<Row> rows = rows(10);
+        list.update(rows);
+        events.clear();
+
+        List<Row> edited = new ArrayList<>(rows);
+        edited.set(3, new Row("r3", 1));
+        list.update(edited);
+
+        assertThat(events).containsExactly("replace 3");
+        assertThat(list.get(3).version()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reach any target ordering")
+    void testRandomTargets() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            List<Row> target = new ArrayList<>(rows(random.nextInt(40)));
+            target.removeIf(row -> random.nextInt(4) == 0);
+            Collections.shuffle(target, random);
+            if (!target.isEmpty() && random.nextBoolean()) {
+                target.set(0, new Row(target.get(0).id(), round + 1));
+            }
+
+            list.update(target);
+
+            assertThat(list).containsExactlyElementsOf(target);
+        }
+    }
+}
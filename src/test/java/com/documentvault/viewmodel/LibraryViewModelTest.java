@@ -3,6 +3,7 @@ package com.documentvault.viewmodel;
 import com.documentvault.model.*;
 import com.documentvault.service.LibraryService;
 import com.documentvault.service.LibraryServiceImpl;
+import javafx.collections.ListChangeListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,9 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.lang.reflect.Field;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
@@ -161,6 +165,37 @@ class LibraryViewModelTest {
         assertThat(viewModel.getItems()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Should publish only the latest search through the scheduler")
+    void testSearchThroughScheduler() {
+        Note java = new Note();
+        java.setTitle("Java Programming");
+        Note python = new Note();
+        python.setTitle("Python Basics");
+        libraryService.addItem(java);
+        libraryService.addItem(python);
+        List<Runnable> queued = new ArrayList<>();
+        SearchScheduler deferred = new SearchScheduler() {
+            @Override
+            public <T> void submit(java.util.function.Supplier<T> search, java.util.function.Consumer<T> publish) {
+                queued.clear();
+                queued.add(() -> publish.accept(search.get()));
+            }
+        };
+        LibraryViewModel deferredViewModel = new LibraryViewModel(deferred);
+
+        deferredViewModel.setSearchQuery("py");
+        deferredViewModel.setSearchQuery("python");
+
+        assertThat(deferredViewModel.getItems()).hasSize(2);
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+
+        assertThat(deferredViewModel.getItems()).containsExactly(python);
+        assertThat(deferredViewModel.getLastSearchMillis()).isGreaterThanOrEqualTo(0.0);
+    }
+
     // ========== Category Filter Tests ==========
 
     @Test
@@ -240,6 +275,29 @@ class LibraryViewModelTest {
         assertThat(viewModel.getItems().get(0).getTitle()).isEqualTo("Categorized");
     }
 
+    @Test
+    @DisplayName("Should redraw a category when only its color or description changes")
+    void testCategoryRedrawOnColorChange() {
+        Category cat = new Category("Test", "#4CAF50");
+        libraryService.addCategory(cat);
+        List<Category> replaced = new ArrayList<>();
+        viewModel.getCategories().addListener((ListChangeListener<Category>) change -> {
+            while (change.next()) {
+                if (change.wasReplaced()) {
+                    replaced.addAll(change.getAddedSubList());
+                }
+            }
+        });
+
+        cat.setColor("#2196F3");
+        libraryService.updateCategory(cat);
+        cat.setDescription("Now described");
+        libraryService.updateCategory(cat);
+        libraryService.updateCategory(cat);
+
+        assertThat(replaced).containsExactly(cat, cat);
+    }
+
     // ========== Item Type Filter Tests ==========
 
     @Test
@@ -365,6 +423,34 @@ class LibraryViewModelTest {
         assertThat(viewModel.getItems().get(0).getTitle()).isEqualTo("Java Programming");
     }
 
+    @Test
+    @DisplayName("Should keep newest-first order when filters are combined")
+    void testCombinedFiltersOrder() {
+        Category programming = new Category("Programming");
+        libraryService.addCategory(programming);
+
+        Note older = new Note();
+        older.setTitle("Java Basics");
+        older.setCategory(programming);
+        older.setLastModified(LocalDateTime.now().minusDays(2));
+
+        Note newer = new Note();
+        newer.setTitle("Java Streams");
+        newer.setCategory(programming);
+        newer.setLastModified(LocalDateTime.now().minusDays(1));
+
+        libraryService.addItem(older);
+        libraryService.addItem(newer);
+
+        viewModel.setSelectedCategory(programming);
+        viewModel.setSelectedItemType(LibraryItem.ItemType.NOTE);
+        viewModel.setSearchQuery("java");
+
+        assertThat(viewModel.getItems())
+                .extracting(LibraryItem::getTitle)
+                .containsExactly("Java Streams", "Java Basics");
+    }
+
     // ========== Item Management Tests ==========
 
     @Test
@@ -409,6 +495,42 @@ class LibraryViewModelTest {
         assertThat(viewModel.getItems()).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should drop a deleted row at once and keep it out of an earlier search")
+    void testDeleteWhileSearchInFlight() {
+        Note first = new Note();
+        first.setTitle("First note");
+        Note doomed = new Note();
+        doomed.setTitle("Doomed note");
+        libraryService.addItem(first);
+        libraryService.addItem(doomed);
+        List<Runnable> queued = new ArrayList<>();
+        SearchScheduler deferred = new SearchScheduler() {
+            @Override
+            public <T> void submit(java.util.function.Supplier<T> search, java.util.function.Consumer<T> publish) {
+                // Searched now, published later
+                T result = search.get();
+                queued.add(() -> publish.accept(result));
+            }
+        };
+        LibraryViewModel deferredViewModel = new LibraryViewModel(deferred);
+
+        deferredViewModel.setSearchQuery("note");
+        deferredViewModel.deleteItem(doomed.getId());
+
+        assertThat(deferredViewModel.getItems()).containsExactly(first);
+
+        Note added = new Note();
+        added.setTitle("Added note");
+        deferredViewModel.addItem(added);
+
+        assertThat(deferredViewModel.getItems()).containsExactly(added, first);
+
+        queued.forEach(Runnable::run);
+
+        assertThat(deferredViewModel.getItems()).doesNotContainNull().doesNotContain(doomed).contains(first);
+    }
+
     @Test
     @DisplayName("Should maintain filters after adding item")
     void testFiltersAfterAdd() {
@@ -422,6 +544,73 @@ class LibraryViewModelTest {
         assertThat(viewModel.getSearchQuery()).isEqualTo("test");
     }
 
+    @Test
+    @DisplayName("Should patch items from service events without reloading")
+    void testPatchFromServiceEvents() {
+        viewModel.setSelectedItemType(LibraryItem.ItemType.NOTE);
+        Note first = new Note();
+        first.setTitle("First");
+        Note second = new Note();
+        second.setTitle("Second");
+        first.setLastModified(LocalDateTime.now().minusMinutes(2));
+        second.setLastModified(LocalDateTime.now().minusMinutes(1));
+        PdfDocument pdf = new PdfDocument();
+        pdf.setTitle("Manual");
+        libraryService.addItem(first);
+        libraryService.addItem(second);
+        libraryService.addItem(pdf);
+
+        assertThat(viewModel.getItems()).containsExactly(second, first);
+
+        List<String> changes = new ArrayList<>();
+        AtomicInteger transactions = new AtomicInteger();
+        viewModel.getItems().addListener((javafx.collections.ListChangeListener<LibraryItem>) change -> {
+            transactions.incrementAndGet();
+            while (change.next()) {
+                changes.add((change.wasReplaced() ? "replace " : change.wasAdded() ? "add " : "remove ")
+                        + change.getFrom());
+            }
+        });
+        libraryService.updateItem(first);
+
+        // A move is one transaction
+        assertThat(viewModel.getItems()).containsExactly(first, second);
+        assertThat(transactions).hasValue(1);
+        assertThat(changes).containsExactly("add 0", "remove 2");
+
+        changes.clear();
+        first.setTitle("First, edited");
+        libraryService.updateItem(first);
+
+        // Still the newest, so redrawn where it is
+        assertThat(viewModel.getItems()).containsExactly(first, second);
+        assertThat(transactions).hasValue(2);
+        assertThat(changes).containsExactly("replace 0");
+    }
+
+    @Test
+    @DisplayName("Should reorder the filtered items when the sort changes")
+    void testSortChange() {
+        for (String title : List.of("Java Streams", "Java Basics", "Python")) {
+            Note note = new Note();
+            note.setTitle(title);
+            libraryService.addItem(note);
+        }
+        viewModel.setSearchQuery("java");
+
+        viewModel.setSort(SortField.TITLE, false);
+
+        assertThat(viewModel.getItems()).extracting(LibraryItem::getTitle)
+                .containsExactly("Java Basics", "Java Streams");
+
+        Note added = new Note();
+        added.setTitle("Java Annotations");
+        viewModel.addItem(added);
+
+        assertThat(viewModel.getItems()).extracting(LibraryItem::getTitle)
+                .containsExactly("Java Annotations", "Java Basics", "Java Streams");
+    }
+
     // ========== Category Management Tests ==========
 
     @Test
@@ -0,0 +1,224 @@
+package com.documentvault.viewmodel;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PagedObservableList.
+ * Tests on-demand page fetching, read-ahead and change notifications.
+ */
+@DisplayName("PagedObservableList Tests")
+class PagedObservableListTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final List<int[]> fetches = new ArrayList<>();
+    private final List<Runnable> prefetches = new ArrayList<>();
+    private PagedObservableList<String> list;
+
+    @BeforeEach
+    void setUp() {
+        PagedObservableList.RowSource<String> source = new PagedObservableList.RowSource<>() {
+            @Override
+            public List<String> fetch(int[] keys) {
+                fetches.add(keys);
+                return IntStream.of(keys).mapToObj(key -> "row" + key).toList();
+            }
+
+            @Override
+            public int keyOf(String row) {
+                return Integer.parseInt(row.substring(3));
+            }
+        };
+        list = new PagedObservableList<>(source, PAGE_SIZE, 3, prefetches::add);
+    }
+
+    private static int[] keys(int count) {
+        return IntStream.range(0, count).toArray();
+    }
+
+    @Test
+    @DisplayName("Should fetch only the page holding a requested row")
+    void testFetchOnDemand() {
+        list.setKeys(keys(1_000_000));
+
+        assertThat(fetches).isEmpty();
+        assertThat(list.get(500_005)).isEqualTo("row500005");
+        assertThat(list.get(500_009)).isEqualTo("row500009");
+
+        assertThat(fetches).hasSize(1);
+        assertThat(fetches.get(0)).hasSize(PAGE_SIZE).startsWith(500_000);
+    }
+
+    @Test
+    @DisplayName("Should read ahead the neighbouring pages")
+    void testPrefetch() {
+        list.setKeys(keys(100));
+        list.get(25);
+
+        assertThat(prefetches).hasSize(2);
+        prefetches.forEach(Runnable::run);
+        fetches.clear();
+
+        assertThat(list.get(15)).isEqualTo("row15");
+        assertThat(list.get(35)).isEqualTo("row35");
+        assertThat(fetches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop read-ahead results after the contents change")
+    void testStalePrefetch() {
+        list.setKeys(keys(100));
+        list.get(25);
+        list.setKeys(new int[]{7, 8, 9});
+        prefetches.forEach(Runnable::run);
+        fetches.clear();
+
+        assertThat(list).containsExactly("row7", "row8", "row9");
+        assertThat(fetches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a bounded number of rows")
+    void testBoundedCache() {
+        list.setKeys(keys(1_000));
+        for (int i = 0; i < 1_000; i++) {
+            list.get(i);
+        }
+        fetches.clear();
+
+        list.get(0);
+
+        assertThat(fetches).as("first page was evicted").hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should report only the rows a new result set removes or inserts")
+    void testSetKeysNotification() {
+        list.setKeys(keys(50));
+        List<String> events = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                events.add(change.getFrom() + ".." + change.getTo()
+                        + " -" + change.getRemovedSize() + " +" + change.getAddedSize());
+            }
+        });
+
+        // An unchanged prefix is left alone
+        list.setKeys(keys(20));
+
+        assertThat(events).containsExactly("20..20 -30 +0");
+        assertThat(list).hasSize(20).startsWith("row0", "row1");
+
+        events.clear();
+        list.setKeys(new int[]{0, 1, 100, 101, 5, 6, 7, 8, 9});
+
+        assertThat(list).containsExactly("row0", "row1", "row100", "row101", "row5", "row6", "row7", "row8",
+                "row9");
+        assertThat(events).containsExactly("2..4 -3 +2", "9..9 -10 +0");
+        assertThat(list.indexOfKey(5)).isEqualTo(4);
+        assertThat(list.indexOfKey(3)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should describe random result changes exactly")
+    void testSetKeysReplay() {
+        Random random = new Random(3);
+        List<String> replica = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                replica.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                replica.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        for (int round = 0; round < 200; round++) {
+            int[] newKeys = IntStream.range(0, 300).filter(key -> random.nextInt(3) == 0).toArray();
+            // Swap a few keys so some rows move
+            for (int swap = 0; swap < 3 && newKeys.length > 1; swap++) {
+                int a = random.nextInt(newKeys.length);
+                int b = random.nextInt(newKeys.length);
+                int key = newKeys[a];
+                newKeys[a] = newKeys[b];
+                newKeys[b] = key;
+            }
+
+            list.setKeys(newKeys);
+
+            assertThat(replica).isEqualTo(list);
+        }
+    }
+
+    @Test
+    @DisplayName("Should put a row in place or move it in one change")
+    void testPut() {
+        list.setKeys(new int[]{1, 2, 3});
+        List<String> events = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            events.add("change");
+            while (change.next()) {
+                events.add((change.wasReplaced() ? "replace " : change.wasAdded() ? "add " : "remove ")
+                        + change.getFrom());
+            }
+        });
+
+        list.put(1, 2, "row2");
+        list.put(0, 3, "row3");
+        list.put(3, 9, "row9");
+
+        assertThat(list).containsExactly("row3", "row1", "row2", "row9");
+        assertThat(events).containsExactly("change", "replace 1", "change", "add 0", "remove 3",
+                "change", "add 3");
+    }
+
+    @Test
+    @DisplayName("Should insert and remove single rows by key")
+    void testRowEdits() {
+        list.setKeys(new int[]{1, 2, 3});
+
+        list.add(0, "row9");
+        list.remove(2);
+
+        assertThat(list).containsExactly("row9", "row1", "row3");
+        assertThat(list.indexOfKey(3)).isEqualTo(2);
+        assertThat(list.indexOfKey(2)).isEqualTo(-1);
+
+        list.clear();
+
+        assertThat(list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should track row positions by key across edits")
+    void testPositionsByKey() {
+        list.setKeys(new int[]{5, 40, 7});
+
+        list.add(1, 100, "row100");
+
+        assertThat(list).containsExactly("row5", "row100", "row40", "row7");
+        assertThat(list.indexOfKey(100)).isEqualTo(1);
+        assertThat(list.indexOfKey(7)).isEqualTo(3);
+
+        assertThat(list.removeKey(40)).isTrue();
+        assertThat(list.removeKey(40)).isFalse();
+
+        assertThat(list).containsExactly("row5", "row100", "row7");
+        assertThat(list.indexOfKey(7)).isEqualTo(2);
+        assertThat(list.indexOfKey(40)).isEqualTo(-1);
+
+        list.setKeys(new int[]{7});
+
+        assertThat(list.indexOfKey(5)).isEqualTo(-1);
+        assertThat(list.indexOfKey(7)).isZero();
+        assertThat(list.indexOfKey(-1)).isEqualTo(-1);
+    }
+}